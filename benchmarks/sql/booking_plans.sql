@@ -0,0 +1,49 @@
+-- Сравнение планов запросов BookingRepository до и после индексов из V3/V4.
+--
+-- Запуск на пустой базе, к которой уже применены миграции сервера:
+--   psql -h localhost -p 6541 -U postgres -d shareit -f benchmarks/sql/booking_plans.sql
+--
+-- Скрипт наполняет таблицы (10 000 пользователей, 100 000 вещей, 1 000 000 бронирований),
+-- затем для каждого запроса выводит EXPLAIN ANALYZE без индексов (удаляются внутри транзакции
+-- и возвращаются откатом) и с индексами.
+
+\timing on
+\set booker 4242
+\set owner 777
+\set now '''2024-06-01 12:00:00'''
+
+insert into users (name, email)
+select 'user ' || g, 'user_' || g || '@mail.com'
+from generate_series(1, 10000) g;
+
+insert into items (name, description, available, owner_id)
+select 'item ' || g, 'description of item ' || g, g % 10 <> 0, (g % 10000) + 1
+from generate_series(1, 100000) g;
+
+insert into bookings (booker_id, item_id, start_time, end_time, status)
+select (g % 10000) + 1,
+       (g * 7 % 100000) + 1,
+       timestamp '2020-01-01' + (g % 1800) * interval '1 day' + (g % 24) * interval '1 hour',
+       timestamp '2020-01-01' + (g % 1800 + 1 + g % 14) * interval '1 day',
+       (array ['WAITING', 'APPROVED', 'REJECTED'])[g % 3 + 1]
+from generate_series(1, 1000000) g;
+
+analyze users;
+analyze items;
+analyze bookings;
+
+\echo '================ без индексов ================'
+begin;
+drop index bookings_booker_start_idx;
+drop index bookings_booker_status_start_idx;
+drop index items_owner_idx;
+drop index bookings_item_start_idx;
+drop index bookings_item_status_start_idx;
+drop index bookings_item_approved_start_idx;
+drop index bookings_booker_item_approved_idx;
+drop index bookings_booker_end_idx;
+\ir booking_queries.sql
+rollback;
+
+\echo '================ с индексами ================'
+\ir booking_queries.sql
@@ -0,0 +1,61 @@
+-- Формы запросов BookingRepository для каждого BookingState, используются из booking_plans.sql
+
+\echo '--- booker ALL'
+explain (analyze, buffers)
+select * from bookings b where b.booker_id = :booker order by b.start_time desc limit 50;
+
+\echo '--- booker FUTURE'
+explain (analyze, buffers)
+select * from bookings b where b.booker_id = :booker and b.start_time > :now order by b.start_time desc limit 50;
+
+\echo '--- booker PAST'
+explain (analyze, buffers)
+select * from bookings b where b.booker_id = :booker and b.end_time < :now order by b.start_time desc limit 50;
+
+\echo '--- booker CURRENT'
+explain (analyze, buffers)
+select * from bookings b
+where b.booker_id = :booker and b.start_time < :now and b.end_time > :now
+order by b.start_time desc limit 50;
+
+\echo '--- booker WAITING'
+explain (analyze, buffers)
+select * from bookings b where b.booker_id = :booker and b.status = 'WAITING' order by b.start_time desc limit 50;
+
+\echo '--- booker feed after cursor'
+explain (analyze, buffers)
+select * from bookings b
+where b.booker_id = :booker
+  and (b.start_time < timestamp '2022-01-01' or (b.start_time = timestamp '2022-01-01' and b.id < 500000))
+order by b.start_time desc, b.id desc limit 51;
+
+\echo '--- owner ALL'
+explain (analyze, buffers)
+select b.* from bookings b join items i on i.id = b.item_id
+where i.owner_id = :owner order by b.start_time desc limit 50;
+
+\echo '--- owner APPROVED'
+explain (analyze, buffers)
+select b.* from bookings b join items i on i.id = b.item_id
+where i.owner_id = :owner and b.status = 'APPROVED' order by b.start_time desc limit 50;
+
+\echo '--- last/next booking for an owner page'
+explain (analyze, buffers)
+select w.item_id, w.id, w.booker_id, w.is_last
+from (select b.item_id, b.id, b.booker_id, true as is_last,
+             row_number() over (partition by b.item_id order by b.start_time desc) as rn
+      from bookings b
+      where b.item_id in (select id from items where owner_id = :owner order by id limit 50)
+        and b.status = 'APPROVED' and b.start_time < :now
+      union all
+      select b.item_id, b.id, b.booker_id, false as is_last,
+             row_number() over (partition by b.item_id order by b.start_time) as rn
+      from bookings b
+      where b.item_id in (select id from items where owner_id = :owner order by id limit 50)
+        and b.status = 'APPROVED' and b.start_time > :now) w
+where w.rn = 1;
+
+\echo '--- comment eligibility'
+explain (analyze, buffers)
+select * from bookings b
+where b.booker_id = :booker and b.item_id = 29695 and b.status = 'APPROVED' and b.start_time < :now;
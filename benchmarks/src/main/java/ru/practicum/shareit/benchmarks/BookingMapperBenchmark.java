@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.server.booking.dto.BookingFeedResponse;
+import ru.practicum.shareit.server.booking.dto.BookingMapper;
+import ru.practicum.shareit.server.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
+import ru.practicum.shareit.server.booking.model.Booking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.Fixtures.*;
+
+/**
+ * Маппинг бронирований: одно, страница и страница ленты с курсором
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    private final BookingMapper mapper = new BookingMapperImpl();
+
+    private Booking booking;
+
+    private List<Booking> page;
+
+    private Slice<Booking> feed;
+
+    @Setup
+    public void setUp() {
+        page = bookings();
+        booking = page.get(0);
+        feed = new SliceImpl<>(page, PageRequest.of(0, PAGE_SIZE), true);
+    }
+
+    @Benchmark
+    public BookingResponse single() {
+        return mapper.mapToResponseEntity(booking);
+    }
+
+    @Benchmark
+    public List<BookingResponse> page() {
+        return mapper.mapToResponseEntity(page);
+    }
+
+    @Benchmark
+    public BookingFeedResponse feed() {
+        return mapper.mapToFeedResponse(feed);
+    }
+}
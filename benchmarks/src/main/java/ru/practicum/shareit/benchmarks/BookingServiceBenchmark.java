@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
+import ru.practicum.shareit.server.booking.model.BookingState;
+import ru.practicum.shareit.server.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.ShareItContext.HOT_USER_ID;
+
+/**
+ * Сквозные вызовы BookingServiceImpl для каждого состояния бронирования: сервис возвращает готовые ответы,
+ * собранные из проекций.
+ * Граница транзакции задаётся параметром {@link ShareItContext#boundary}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    private BookingService bookingService;
+
+    private ShareItContext context;
+
+    private BookingState bookingState;
+
+    @Setup
+    public void setUp(ShareItContext context) {
+        bookingService = context.getBean(BookingService.class);
+        this.context = context;
+        bookingState = BookingState.parse(state);
+    }
+
+    @Benchmark
+    public List<BookingResponse> findAllByBookerId() {
+        return context.call(() -> bookingService.findAllByBookerId(HOT_USER_ID, bookingState, 0, 50));
+    }
+
+    @Benchmark
+    public List<BookingResponse> findAllByOwnerId() {
+        return context.call(() -> bookingService.findAllByOwnerId(HOT_USER_ID, bookingState, 0, 50));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.model.BookingState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор параметра state: первое и последнее значение перечисления и неизвестное значение
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingStateBenchmark {
+    @Param({"ALL", "REJECTED", "UNSUPPORTED_STATUS"})
+    private String value;
+
+    @Benchmark
+    public Object parse() {
+        try {
+            return BookingState.parse(value);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.item.model.Comment;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Заготовки сущностей для бенчмарков мапперов
+ */
+final class Fixtures {
+    static final long OWNER_ID = 1L;
+    static final long BOOKER_ID = 2L;
+    static final int PAGE_SIZE = 50;
+    static final int COMMENTS_PER_ITEM = 3;
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user " + id);
+        user.setEmail("user_" + id + "@mail.com");
+        return user;
+    }
+
+    /**
+     * Вещь владельца {@link #OWNER_ID} с комментариями; бронирования заполняются только при withBookings
+     */
+    static Item item(long id, boolean withBookings) {
+        User owner = user(OWNER_ID);
+        User booker = user(BOOKER_ID);
+
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item " + id);
+        item.setDescription("description of item " + id);
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        Set<Comment> comments = new HashSet<>();
+        for (long i = 1; i <= COMMENTS_PER_ITEM; i++) {
+            Comment comment = new Comment();
+            comment.setId(id * COMMENTS_PER_ITEM + i);
+            comment.setAuthor(booker);
+            comment.setItem(item);
+            comment.setText("comment " + i);
+            comment.setCreatedAt(LocalDateTime.now().minusDays(i));
+            comments.add(comment);
+        }
+        item.setComments(comments);
+
+        if (withBookings) {
+            item.setLastBooking(booking(id * 2, item, booker, LocalDateTime.now().minusDays(3)));
+            item.setNextBooking(booking(id * 2 + 1, item, booker, LocalDateTime.now().plusDays(3)));
+        }
+        return item;
+    }
+
+    static Booking booking(long id, Item item, User booker, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(Status.APPROVED);
+        return booking;
+    }
+
+    static List<Item> items(boolean withBookings) {
+        List<Item> items = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            items.add(item(id, withBookings));
+        }
+        return items;
+    }
+
+    static List<Booking> bookings() {
+        User booker = user(BOOKER_ID);
+        List<Booking> bookings = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            bookings.add(booking(id, item(id, false), booker, LocalDateTime.now().minusHours(id)));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.Fixtures.*;
+
+/**
+ * Маппинг вещи в ответ: для владельца (с бронированиями и без), для чужого пользователя и страницей
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    private final ItemMapper mapper = new ItemMapperImpl();
+
+    private Item itemWithBookings;
+
+    private Item itemWithoutBookings;
+
+    private List<Item> page;
+
+    @Setup
+    public void setUp() {
+        itemWithBookings = item(1, true);
+        itemWithoutBookings = item(1, false);
+        page = items(true);
+    }
+
+    @Benchmark
+    public ItemResponse ownerWithBookingViews() {
+        return mapper.mapToResponseEntity(itemWithBookings, OWNER_ID);
+    }
+
+    @Benchmark
+    public ItemResponse ownerWithoutBookingViews() {
+        return mapper.mapToResponseEntity(itemWithoutBookings, OWNER_ID);
+    }
+
+    @Benchmark
+    public ItemResponse notOwner() {
+        return mapper.mapToResponseEntity(itemWithBookings, BOOKER_ID);
+    }
+
+    @Benchmark
+    public List<ItemResponse> page() {
+        return mapper.mapToResponseEntity(page);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.ShareItContext.*;
+
+/**
+ * Сквозные вызовы ItemServiceImpl с маппингом ответа, как их выполняет ItemController.
+ * Граница транзакции задаётся параметром {@link ShareItContext#boundary}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private ItemService itemService;
+
+    private ItemMapper itemMapper;
+
+    private ShareItContext context;
+
+    @Setup
+    public void setUp(ShareItContext context) {
+        itemService = context.getBean(ItemService.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        this.context = context;
+    }
+
+    @Benchmark
+    public List<ItemResponse> findAllByUserId() {
+        return context.call(() -> itemService.findAllByUserId(HOT_USER_ID, 0, 50));
+    }
+
+    @Benchmark
+    public ItemResponse findByIdAsOwner() {
+        return context.call(() ->
+                itemMapper.mapToResponseEntity(itemService.findById(HOT_ITEM_ID), HOT_USER_ID));
+    }
+
+    @Benchmark
+    public List<ItemResponse> findAllByName() {
+        return context.call(() ->
+                itemMapper.mapToResponseEntity(itemService.findAllByName("item 42", 0, 50)));
+    }
+}
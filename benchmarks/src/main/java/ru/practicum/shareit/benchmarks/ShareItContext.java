@@ -0,0 +1,133 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.ShareItApp;
+import ru.practicum.shareit.server.item.search.InMemoryItemSearchEngine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Контекст сервера без веб-слоя поверх встроенной H2, наполненной объёмами, близкими к боевым.
+ * Поднимается один раз на форк и закрывается после всех итераций.
+ */
+@State(Scope.Benchmark)
+public class ShareItContext {
+    static final int USERS = 1_000;
+    static final int ITEMS = 10_000;
+    static final int BOOKINGS = 100_000;
+    static final int COMMENTS = 20_000;
+    static final int BATCH_SIZE = 1_000;
+
+    /**
+     * Пользователь, владеющий {@code ITEMS / USERS} вещами и бронирующий чужие
+     */
+    static final long HOT_USER_ID = 42;
+
+    /**
+     * Одна из вещей {@link #HOT_USER_ID}: владелец вещи i — пользователь {@code i % USERS + 1}
+     */
+    static final long HOT_ITEM_ID = HOT_USER_ID - 1;
+
+    /**
+     * Граница транзакции вызова: request — вызов сервиса и маппинг ответа в одной транзакции на чтение и запись,
+     * как было при open-in-view до явных транзакций в сервисах; service — только read-only транзакции сервисов,
+     * маппинг после их завершения. Аллокации сравниваются запуском с -prof gc.
+     */
+    @Param({"request", "service"})
+    public String boundary;
+
+    ConfigurableApplicationContext context;
+
+    TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBeanProvider(InMemoryItemSearchEngine.class).ifAvailable(InMemoryItemSearchEngine::rebuild);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    <T> T call(Supplier<T> action) {
+        if ("request".equals(boundary)) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        return action.get();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{"user " + i, "user_" + i + "@mail.com"});
+        }
+        insert(jdbcTemplate, "insert into users (name, email) values (?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{"item " + i, "description of item " + i, i % 10 != 0, i % USERS + 1});
+        }
+        insert(jdbcTemplate, "insert into items (name, description, available, owner_id) values (?, ?, ?, ?)", items);
+
+        String[] statuses = {"APPROVED", "WAITING", "REJECTED", "APPROVED"};
+        List<Object[]> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(365).plusHours(i * 7L % (730 * 24));
+            bookings.add(new Object[]{
+                    i % USERS + 1,
+                    i * 7L % ITEMS + 1,
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusDays(i % 7 + 1)),
+                    statuses[i % statuses.length]
+            });
+        }
+        insert(jdbcTemplate,
+                "insert into bookings (booker_id, item_id, start_time, end_time, status) values (?, ?, ?, ?, ?)",
+                bookings);
+
+        List<Object[]> comments = new ArrayList<>(COMMENTS);
+        for (int i = 1; i <= COMMENTS; i++) {
+            comments.add(new Object[]{"comment " + i, Timestamp.valueOf(now.minusDays(i % 365)),
+                    i % USERS + 1, i % ITEMS + 1});
+        }
+        insert(jdbcTemplate,
+                "insert into comments (text, created_at, author_id, item_id) values (?, ?, ?, ?)",
+                comments);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.server.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.server.common.http.WireCodec;
+import ru.practicum.shareit.server.common.http.WireFormat;
+import ru.practicum.shareit.server.item.dto.ItemMapperImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.Fixtures.bookings;
+import static ru.practicum.shareit.benchmarks.Fixtures.items;
+
+/**
+ * Ответ со страницей вещей или бронирований на участке от сервера до шлюза в форматах shareit-server.http.format
+ * со сжатием и без: server — сериализация и сжатие на сервере, gateway — распаковка и перекодирование в JSON
+ * на шлюзе. Размер тела в байтах печатается при подготовке каждого сочетания параметров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"items", "bookings"})
+    public String payload;
+
+    @Param({"JSON", "SMILE"})
+    public WireFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+
+    private List<?> page;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format == WireFormat.SMILE) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        page = "items".equals(payload)
+                ? new ItemMapperImpl().mapToResponseEntity(items(true))
+                : new BookingMapperImpl().mapToResponseEntity(bookings());
+        encoded = server();
+        System.out.printf("%n%s, %s, gzip=%s: %d байт, в JSON для клиента %d байт%n",
+                payload, format, gzip, encoded.length, gateway().length);
+    }
+
+    @Benchmark
+    public byte[] server() throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(page);
+        return gzip ? WireCodec.gzip(body) : body;
+    }
+
+    @Benchmark
+    public byte[] gateway() {
+        byte[] body = gzip ? WireCodec.gunzip(encoded) : encoded;
+        return format == WireFormat.SMILE ? WireCodec.smileToJson(body) : body;
+    }
+}
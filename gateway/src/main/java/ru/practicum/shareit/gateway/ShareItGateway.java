@@ -2,8 +2,12 @@ package ru.practicum.shareit.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.server.common.VirtualThreadsConfig;
+import ru.practicum.shareit.server.common.http.ConditionalGetConfig;
 
 @SpringBootApplication
+@Import({VirtualThreadsConfig.class, ConditionalGetConfig.class})
 public class ShareItGateway {
     public static void main(String[] args) {
         SpringApplication.run(ShareItGateway.class, args);
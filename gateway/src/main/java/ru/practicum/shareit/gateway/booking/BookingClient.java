@@ -1,15 +1,16 @@
 package ru.practicum.shareit.gateway.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.common.BaseClient;
+import ru.practicum.shareit.gateway.common.ServerLoadBalancer;
+import ru.practicum.shareit.gateway.common.ServerTransportFactory;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,16 +18,14 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(
+            ServerLoadBalancer loadBalancer,
+            ServerTransportFactory transportFactory
+    ) {
+        super(loadBalancer.transport(transportFactory, API_PREFIX));
     }
 
-    public ResponseEntity<Object> findAllByBookerId(long bookerId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllByBookerId(long bookerId, String state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -35,7 +34,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", bookerId, parameters);
     }
 
-    public ResponseEntity<Object> findAllByOwnerId(long ownerId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllByOwnerId(long ownerId, String state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -44,15 +43,45 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> findByUserIdAndId(long bookingId, long userId) {
+    public Mono<ResponseEntity<Object>> findFeedByBookerId(long bookerId, String state, String cursor, int size) {
+        return get(feedPath("/feed", cursor), bookerId, feedParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> findFeedByOwnerId(long ownerId, String state, String cursor, int size) {
+        return get(feedPath("/owner/feed", cursor), ownerId, feedParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> findByUserIdAndId(long bookingId, long userId) {
         return get("/{bookingId}", userId, Map.of("bookingId", bookingId));
     }
 
-    public ResponseEntity<Object> create(long userId, BookingCreateRequest createRequest) {
+    public Mono<ResponseEntity<Object>> create(long userId, BookingCreateRequest createRequest) {
         return post("", userId, createRequest);
     }
 
-    public ResponseEntity<Object> approve(long userId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(long userId, long bookingId, boolean approved) {
         return patch("/{bookingId}?approved={approved}", userId, Map.of("bookingId", bookingId, "approved", approved), null);
     }
+
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<BookingCreateRequest> createRequests) {
+        return post("/batch", userId, createRequests);
+    }
+
+    public Mono<ResponseEntity<Object>> approveAll(long userId, List<Long> bookingIds, boolean approved) {
+        return patch("/batch?approved={approved}", userId, Map.of("approved", approved), bookingIds);
+    }
+
+    private static String feedPath(String path, String cursor) {
+        return path + "?state={state}&size={size}" + (cursor == null ? "" : "&cursor={cursor}");
+    }
+
+    private static Map<String, Object> feedParameters(String state, String cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 }
@@ -5,11 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.server.common.Constants.*;
 
@@ -31,7 +36,7 @@ public class BookingController {
      * @return найденное бронирование
      */
     @GetMapping("{bookingId}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_HEADER) Long userId,
             @PathVariable Long bookingId
     ) {
@@ -56,7 +61,7 @@ public class BookingController {
      * @return найденные бронирования
      */
     @GetMapping
-    public ResponseEntity<Object> findAllByBookerId(
+    public Mono<ResponseEntity<Object>> findAllByBookerId(
             @RequestHeader(USER_HEADER) Long bookerId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
@@ -84,7 +89,7 @@ public class BookingController {
      * @return найденные бронирования
      */
     @GetMapping("/owner")
-    public ResponseEntity<Object> findAllByOwnerId(
+    public Mono<ResponseEntity<Object>> findAllByOwnerId(
             @RequestHeader(USER_HEADER) Long ownerId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
@@ -94,6 +99,46 @@ public class BookingController {
         return client.findAllByOwnerId(ownerId, stateFilter, from, size);
     }
 
+    /**
+     * Лента бронирований пользователя с постраничным переходом по курсору
+     *
+     * @param bookerId    идентификатор пользователя
+     * @param stateFilter состояние бронирования, как в {@link #findAllByBookerId}
+     * @param cursor      курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size        размер страницы
+     * @return страница бронирований и курсор следующей страницы
+     */
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<Object>> findFeedByBookerId(
+            @RequestHeader(USER_HEADER) Long bookerId,
+            @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты бронирований пользователя {}", bookerId);
+        return client.findFeedByBookerId(bookerId, stateFilter, cursor, size);
+    }
+
+    /**
+     * Лента бронирований владельца предмета с постраничным переходом по курсору
+     *
+     * @param ownerId     идентификатор владельца предмета
+     * @param stateFilter состояние бронирования, как в {@link #findAllByOwnerId}
+     * @param cursor      курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size        размер страницы
+     * @return страница бронирований и курсор следующей страницы
+     */
+    @GetMapping("/owner/feed")
+    public Mono<ResponseEntity<Object>> findFeedByOwnerId(
+            @RequestHeader(USER_HEADER) Long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты бронирований владельца предмета ownerId={}", ownerId);
+        return client.findFeedByOwnerId(ownerId, stateFilter, cursor, size);
+    }
+
     /**
      * Создание бронирования
      *
@@ -102,7 +147,7 @@ public class BookingController {
      * @return созданный объект
      */
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(USER_HEADER) Long bookerId,
             @RequestBody @Valid BookingCreateRequest bookingCreateRequest
     ) {
@@ -119,7 +164,7 @@ public class BookingController {
      * @return изменённое бронирование
      */
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader(USER_HEADER) Long ownerId,
             @PathVariable Long bookingId,
             @RequestParam(name = "approved") Boolean available
@@ -127,4 +172,39 @@ public class BookingController {
         log.info("Подтверждение или отклонение бронирования владельцем={} статус={}", ownerId, available);
         return client.approve(ownerId, bookingId, available);
     }
+
+    /**
+     * Пакетное создание бронирований
+     *
+     * @param bookerId              идентификатор пользователя
+     * @param bookingCreateRequests параметры создания бронирований
+     * @return результаты в порядке запроса: созданное бронирование или причина отказа
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(
+            @RequestHeader(USER_HEADER) Long bookerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Valid BookingCreateRequest> bookingCreateRequests
+    ) {
+        log.info("Пакетное создание {} бронирований пользователем с id={}", bookingCreateRequests.size(), bookerId);
+        return client.createAll(bookerId, bookingCreateRequests);
+    }
+
+    /**
+     * Пакетное подтверждение или отклонение бронирований
+     *
+     * @param ownerId    идентификатор владельца
+     * @param bookingIds идентификаторы бронирований
+     * @param available  подтверждение или отклонение
+     * @return результаты в порядке запроса: изменённое бронирование или причина отказа
+     */
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> updateAll(
+            @RequestHeader(USER_HEADER) Long ownerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> bookingIds,
+            @RequestParam(name = "approved") Boolean available
+    ) {
+        log.info("Пакетное подтверждение или отклонение {} бронирований владельцем={} статус={}",
+                bookingIds.size(), ownerId, available);
+        return client.approveAll(ownerId, bookingIds, available);
+    }
 }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ответ контроллера шлюза в блокирующем режиме (shareit-gateway.mode=blocking).
+ * Mono&lt;ResponseEntity&gt; подписывается в потоке сервлета, запрос к серверу выполняется в нём же,
+ * и ответ записывается как ResponseEntity, возвращённый из контроллера напрямую:
+ * без асинхронной обработки Spring MVC и повторной диспетчеризации запроса.
+ */
+public class BlockingResponseReturnValueHandler implements HandlerMethodReturnValueHandler {
+    private final HandlerMethodReturnValueHandler responseEntityHandler;
+
+    public BlockingResponseReturnValueHandler(HandlerMethodReturnValueHandler responseEntityHandler) {
+        this.responseEntityHandler = responseEntityHandler;
+    }
+
+    /**
+     * Ставит обработчик перед стандартными: иначе Mono обработает асинхронно ReactiveTypeHandler
+     */
+    public static void register(RequestMappingHandlerAdapter adapter) {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        HandlerMethodReturnValueHandler responseEntityHandler = handlers.stream()
+                .filter(HttpEntityMethodProcessor.class::isInstance)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Не найден обработчик ResponseEntity"));
+        handlers.add(0, new BlockingResponseReturnValueHandler(responseEntityHandler));
+        adapter.setReturnValueHandlers(handlers);
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType())
+                && ResponseEntity.class.isAssignableFrom(returnType.nested().getNestedParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(
+            @Nullable Object returnValue,
+            MethodParameter returnType,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest
+    ) throws Exception {
+        Object response = returnValue == null ? null : ((Mono<?>) returnValue).block();
+        responseEntityHandler.handleReturnValue(response, new ResponseParameter(returnType), mavContainer, webRequest);
+    }
+
+    /**
+     * Тип значения внутри Mono в роли типа, возвращаемого методом контроллера
+     */
+    private static final class ResponseParameter extends MethodParameter {
+        private final Class<?> responseType;
+        private final Type genericResponseType;
+
+        private ResponseParameter(MethodParameter returnType) {
+            super(returnType);
+            MethodParameter nested = returnType.nested();
+            this.responseType = nested.getNestedParameterType();
+            this.genericResponseType = nested.getNestedGenericParameterType();
+        }
+
+        private ResponseParameter(ResponseParameter original) {
+            super(original);
+            this.responseType = original.responseType;
+            this.genericResponseType = original.genericResponseType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return responseType;
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return genericResponseType;
+        }
+
+        @Override
+        public ResponseParameter clone() {
+            return new ResponseParameter(this);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Транспорт, выбирающий экземпляр сервера для каждого запроса.
+ * Ошибка соединения или ответ 502, 503, 504 считаются неудачей экземпляра;
+ * GET-запрос после неудачи повторяется на другом экземпляре.
+ */
+public class LoadBalancedServerTransport implements ServerTransport {
+    private static final Set<Integer> UNAVAILABLE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY.value(), HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.GATEWAY_TIMEOUT.value()
+    );
+
+    private final ServerLoadBalancer loadBalancer;
+    private final Map<ServerEndpoint, ServerTransport> transports;
+    private final int getAttempts;
+
+    public LoadBalancedServerTransport(
+            ServerLoadBalancer loadBalancer,
+            Map<ServerEndpoint, ServerTransport> transports,
+            int getAttempts
+    ) {
+        this.loadBalancer = loadBalancer;
+        this.transports = transports;
+        this.getAttempts = Math.max(1, getAttempts);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        int attempts = method == HttpMethod.GET ? getAttempts : 1;
+        return Mono.defer(() -> attempt(method, path, headers, parameters, body, new HashSet<>(), attempts));
+    }
+
+    private Mono<ResponseEntity<byte[]>> attempt(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body,
+            Set<ServerEndpoint> tried,
+            int attemptsLeft
+    ) {
+        ServerEndpoint endpoint = loadBalancer.choose(tried);
+        tried.add(endpoint);
+        endpoint.requestStarted();
+
+        return Mono.defer(() -> transports.get(endpoint).exchange(method, path, headers, parameters, body))
+                .doFinally(signal -> endpoint.requestFinished())
+                .materialize()
+                .flatMap(signal -> {
+                    ResponseEntity<byte[]> response = signal.get();
+                    if (!signal.isOnError() && (response == null || !isUnavailable(response))) {
+                        loadBalancer.succeeded(endpoint);
+                        return Mono.justOrEmpty(response);
+                    }
+
+                    loadBalancer.failed(endpoint);
+                    if (attemptsLeft > 1) {
+                        loadBalancer.retried(endpoint);
+                        return attempt(method, path, headers, parameters, body, tried, attemptsLeft - 1);
+                    }
+                    return signal.isOnError() ? Mono.error(signal.getThrowable()) : Mono.just(response);
+                });
+    }
+
+    private static boolean isUnavailable(ResponseEntity<byte[]> response) {
+        return UNAVAILABLE_STATUSES.contains(response.getStatusCodeValue());
+    }
+}
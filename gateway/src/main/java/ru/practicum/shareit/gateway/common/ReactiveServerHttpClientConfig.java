@@ -0,0 +1,58 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий HTTP-транспорт для клиентов шлюза (shareit-gateway.mode=reactive).
+ * Контроллеры возвращают Mono, и Spring MVC обрабатывает запрос асинхронно, не занимая поток Tomcat
+ * на время ожидания сервера. Метрики пула публикуются как reactor.netty.connection.provider.*.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveServerHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(ServerHttpClientProperties properties) {
+        return ConnectionProvider.builder(ServerHttpClientConfig.POOL_NAME)
+                .maxConnections(properties.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerTransportFactory webClientTransportFactory(
+            WebClient.Builder builder,
+            ConnectionProvider serverConnectionProvider,
+            ServerHttpClientProperties properties
+    ) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .protocol(properties.isHttp2() ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+
+        return baseUrl -> new WireFormatServerTransport(
+                new WebClientTransport(
+                        builder.clone()
+                                .baseUrl(baseUrl)
+                                .clientConnector(connector)
+                                .build()
+                ),
+                properties.getFormat(),
+                properties.isCompression()
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Блокирующий транспорт: запрос выполняется при подписке на Mono в потоке подписчика.
+ * В блокирующем режиме это поток сервлета, см. {@link BlockingResponseReturnValueHandler}.
+ */
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        return Mono.fromCallable(() -> {
+            try {
+                if (parameters != null && !parameters.isEmpty()) {
+                    return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+                }
+                return rest.exchange(path, method, requestEntity, byte[].class);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+}
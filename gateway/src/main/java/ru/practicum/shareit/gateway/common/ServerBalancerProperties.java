@@ -0,0 +1,47 @@
+package ru.practicum.shareit.gateway.common;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки распределения запросов шлюза между экземплярами сервера из shareit-server.url
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class ServerBalancerProperties {
+
+    Strategy strategy = Strategy.ROUND_ROBIN;
+
+    /**
+     * Число неудачных запросов подряд, после которого экземпляр исключается из балансировки
+     */
+    int failureThreshold = 3;
+
+    /**
+     * Время, на которое экземпляр исключается из балансировки
+     */
+    Duration ejectionTime = Duration.ofSeconds(30);
+
+    /**
+     * Число попыток GET-запроса на разных экземплярах, включая первую
+     */
+    int getAttempts = 2;
+
+    public enum Strategy {
+        /**
+         * Экземпляры выбираются по очереди
+         */
+        ROUND_ROBIN,
+        /**
+         * Выбирается экземпляр с наименьшим числом запросов в обработке
+         */
+        LEAST_OUTSTANDING
+    }
+}
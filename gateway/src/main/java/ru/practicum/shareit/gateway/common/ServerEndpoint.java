@@ -0,0 +1,61 @@
+package ru.practicum.shareit.gateway.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр сервера: число запросов в обработке и неудач подряд,
+ * момент, до которого экземпляр исключён из балансировки
+ */
+public class ServerEndpoint {
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntilMillis;
+
+    public ServerEndpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable(long nowMillis) {
+        return ejectedUntilMillis <= nowMillis;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    void succeeded() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Учитывает неудачный запрос и исключает экземпляр, если неудач подряд набралось failureThreshold
+     *
+     * @return true, если экземпляр исключён этим вызовом
+     */
+    boolean failed(int failureThreshold, long ejectUntilMillis) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntilMillis = ejectUntilMillis;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
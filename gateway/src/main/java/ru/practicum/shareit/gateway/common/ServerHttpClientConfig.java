@@ -0,0 +1,100 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Блокирующий HTTP-транспорт для клиентов шлюза (shareit-gateway.mode=blocking, по умолчанию).
+ * По умолчанию пул соединений Apache HttpClient с метриками httpcomponents.httpclient.pool.*,
+ * при shareit-server.http.http2=true соединение HTTP/2 (h2c), мультиплексирующее запросы.
+ * Mono из контроллеров выполняется в потоке сервлета без асинхронной обработки Spring MVC.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "blocking", matchIfMissing = true)
+public class ServerHttpClientConfig {
+    public static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(
+            ServerHttpClientProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        if (properties.isHttp2()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .build();
+            return new JdkClientHttpRequestFactory(httpClient, properties.getReadTimeout());
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        meterRegistry.ifAvailable(registry ->
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(registry));
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public ServerTransportFactory restTemplateTransportFactory(
+            RestTemplateBuilder builder,
+            ClientHttpRequestFactory serverRequestFactory,
+            ServerHttpClientProperties properties
+    ) {
+        return baseUrl -> new WireFormatServerTransport(
+                new RestTemplateTransport(
+                        builder
+                                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                                .requestFactory(() -> serverRequestFactory)
+                                .build()
+                ),
+                properties.getFormat(),
+                properties.isCompression()
+        );
+    }
+
+    @Bean
+    public static BeanPostProcessor blockingResponseReturnValueHandlerRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    BlockingResponseReturnValueHandler.register((RequestMappingHandlerAdapter) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
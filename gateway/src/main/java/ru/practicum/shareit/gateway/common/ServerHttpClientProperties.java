@@ -0,0 +1,59 @@
+package ru.practicum.shareit.gateway.common;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.server.common.http.WireFormat;
+
+import java.time.Duration;
+
+/**
+ * Настройки HTTP-транспорта от шлюза до сервера, общего для всех клиентов
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerHttpClientProperties {
+
+    /**
+     * Максимальное число соединений в пуле
+     */
+    int maxConnections = 200;
+
+    /**
+     * Максимальное число соединений к одному адресу сервера
+     */
+    int maxConnectionsPerRoute = 200;
+
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время ожидания свободного соединения из пула
+     */
+    Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Простаивающие дольше этого соединения закрываются фоновым потоком
+     */
+    Duration idleEviction = Duration.ofSeconds(30);
+
+    /**
+     * HTTP/2 без TLS (h2c) через java.net.http.HttpClient вместо пула Apache HttpClient
+     */
+    boolean http2 = false;
+
+    /**
+     * Формат ответов сервера: json или smile (бинарный JSON, шлюз перекодирует его в JSON для клиентов)
+     */
+    WireFormat format = WireFormat.JSON;
+
+    /**
+     * Запрашивать ответы сервера сжатыми gzip (сервер сжимает при server.compression.enabled=true)
+     */
+    boolean compression = true;
+}
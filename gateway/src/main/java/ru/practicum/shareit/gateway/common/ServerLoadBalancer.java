@@ -0,0 +1,115 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Клиентская балансировка запросов шлюза между экземплярами сервера.
+ * Экземпляр, на котором неудачи идут подряд, временно исключается из выбора;
+ * если исключены все, запросы идут на все экземпляры.
+ */
+@Slf4j
+public class ServerLoadBalancer {
+    public static final String EJECTIONS_METRIC = "shareit.gateway.server.ejections";
+    public static final String RETRIES_METRIC = "shareit.gateway.server.retries";
+    public static final String OUTSTANDING_METRIC = "shareit.gateway.server.outstanding";
+
+    private final List<ServerEndpoint> endpoints;
+    private final ServerBalancerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ServerLoadBalancer(List<String> urls, ServerBalancerProperties properties, MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один адрес сервера");
+        }
+        this.endpoints = urls.stream()
+                .map(ServerEndpoint::new)
+                .collect(Collectors.toUnmodifiableList());
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        endpoints.forEach(endpoint -> Gauge.builder(OUTSTANDING_METRIC, endpoint, ServerEndpoint::getOutstanding)
+                .tag("endpoint", endpoint.getUrl())
+                .register(meterRegistry));
+    }
+
+    public List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Транспорт клиента шлюза, распределяющий запросы по всем экземплярам сервера
+     *
+     * @param apiPrefix путь ресурса клиента, добавляемый к адресу каждого экземпляра
+     */
+    public ServerTransport transport(ServerTransportFactory transportFactory, String apiPrefix) {
+        Map<ServerEndpoint, ServerTransport> transports = endpoints.stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        Function.identity(),
+                        endpoint -> transportFactory.create(endpoint.getUrl() + apiPrefix)
+                ));
+        return new LoadBalancedServerTransport(this, transports, properties.getGetAttempts());
+    }
+
+    /**
+     * Выбор экземпляра для очередной попытки запроса
+     *
+     * @param tried экземпляры, на которых запрос уже выполнялся; выбираются, только если других нет
+     */
+    public ServerEndpoint choose(Collection<ServerEndpoint> tried) {
+        long now = System.currentTimeMillis();
+        List<ServerEndpoint> candidates = candidates(endpoint -> endpoint.isAvailable(now) && !tried.contains(endpoint));
+        if (candidates.isEmpty()) {
+            candidates = candidates(endpoint -> !tried.contains(endpoint));
+        }
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+
+        int offset = Math.floorMod(next.getAndIncrement(), candidates.size());
+        if (properties.getStrategy() == ServerBalancerProperties.Strategy.ROUND_ROBIN) {
+            return candidates.get(offset);
+        }
+
+        ServerEndpoint chosen = candidates.get(offset);
+        for (int i = 1; i < candidates.size(); i++) {
+            ServerEndpoint candidate = candidates.get((offset + i) % candidates.size());
+            if (candidate.getOutstanding() < chosen.getOutstanding()) {
+                chosen = candidate;
+            }
+        }
+        return chosen;
+    }
+
+    public void succeeded(ServerEndpoint endpoint) {
+        endpoint.succeeded();
+    }
+
+    public void failed(ServerEndpoint endpoint) {
+        long ejectUntil = System.currentTimeMillis() + properties.getEjectionTime().toMillis();
+        if (endpoint.failed(properties.getFailureThreshold(), ejectUntil)) {
+            log.warn("Сервер {} исключён из балансировки на {} после {} неудачных запросов подряд",
+                    endpoint, properties.getEjectionTime(), properties.getFailureThreshold());
+            meterRegistry.counter(EJECTIONS_METRIC, "endpoint", endpoint.getUrl()).increment();
+        }
+    }
+
+    public void retried(ServerEndpoint endpoint) {
+        meterRegistry.counter(RETRIES_METRIC, "endpoint", endpoint.getUrl()).increment();
+    }
+
+    private List<ServerEndpoint> candidates(Predicate<ServerEndpoint> filter) {
+        return endpoints.stream()
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Экземпляры сервера перечисляются через запятую в shareit-server.url,
+ * например http://localhost:9090,http://localhost:9091
+ */
+@Configuration
+@EnableConfigurationProperties(ServerBalancerProperties.class)
+public class ServerLoadBalancerConfig {
+
+    @Bean
+    public ServerLoadBalancer serverLoadBalancer(
+            @Value("${shareit-server.url}") String serverUrls,
+            ServerBalancerProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new ServerLoadBalancer(
+                Arrays.stream(StringUtils.commaDelimitedListToStringArray(serverUrls))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .collect(Collectors.toList()),
+                properties,
+                meterRegistry
+        );
+    }
+}
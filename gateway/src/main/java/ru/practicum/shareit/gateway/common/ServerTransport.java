@@ -0,0 +1,25 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Отправка запроса на сервер по пути относительно базового адреса клиента.
+ * Тело ответа не разбирается и возвращается байтами вместе с заголовками сервера.
+ * Ответ с ошибкой не приводит к исключению, а возвращается со статусом и телом сервера.
+ */
+public interface ServerTransport {
+
+    Mono<ResponseEntity<byte[]>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    );
+}
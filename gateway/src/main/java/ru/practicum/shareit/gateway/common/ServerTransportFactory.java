@@ -0,0 +1,11 @@
+package ru.practicum.shareit.gateway.common;
+
+/**
+ * Создание транспорта для клиента с заданным базовым адресом,
+ * реализация выбирается свойством shareit-gateway.mode
+ */
+@FunctionalInterface
+public interface ServerTransportFactory {
+
+    ServerTransport create(String baseUrl);
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.server.common.http.WireCodec;
+import ru.practicum.shareit.server.common.http.WireFormat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Согласование формата и сжатия ответов сервера: запрашивает ответ в заданном формате и gzip,
+ * а полученное тело распаковывает и перекодирует в JSON, чтобы клиенты шлюза получали прежний формат.
+ * Сжатие для клиентов выполняет Tomcat шлюза (server.compression.*). Тела запросов остаются в JSON.
+ */
+public class WireFormatServerTransport implements ServerTransport {
+    private static final String GZIP = "gzip";
+
+    private final ServerTransport delegate;
+    private final WireFormat format;
+    private final boolean compression;
+
+    public WireFormatServerTransport(ServerTransport delegate, WireFormat format, boolean compression) {
+        this.delegate = delegate;
+        this.format = format;
+        this.compression = compression;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.putAll(headers);
+        requestHeaders.setAccept(format == WireFormat.JSON
+                ? List.of(MediaType.APPLICATION_JSON)
+                : List.of(format.getMediaType(), MediaType.APPLICATION_JSON));
+        if (compression) {
+            requestHeaders.set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        return delegate.exchange(method, path, requestHeaders, parameters, body)
+                .map(WireFormatServerTransport::decode);
+    }
+
+    /**
+     * Apache HttpClient распаковывает gzip сам и убирает Content-Encoding,
+     * java.net.http и Reactor Netty возвращают тело как есть
+     */
+    private static ResponseEntity<byte[]> decode(ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        HttpHeaders serverHeaders = response.getHeaders();
+        boolean gzipped = GZIP.equalsIgnoreCase(serverHeaders.getFirst(HttpHeaders.CONTENT_ENCODING));
+        boolean smile = WireFormat.SMILE.getMediaType().isCompatibleWith(serverHeaders.getContentType());
+        if (body == null || body.length == 0 || !gzipped && !smile) {
+            return response;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(serverHeaders);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        if (gzipped) {
+            body = WireCodec.gunzip(body);
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+        }
+        if (smile) {
+            body = WireCodec.smileToJson(body);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(body);
+    }
+}
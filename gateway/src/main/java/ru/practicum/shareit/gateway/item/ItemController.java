@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.server.item.dto.*;
 
 import javax.validation.Valid;
@@ -28,7 +29,7 @@ public class ItemController {
      * @return список вещей пользователя
      */
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(
+    public Mono<ResponseEntity<Object>> findAllByUserId(
             @RequestHeader(USER_HEADER) Long userId,
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
             @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
@@ -43,7 +44,7 @@ public class ItemController {
      * @return полученная вещь
      */
     @GetMapping("{itemId}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_HEADER) long userId,
             @PathVariable long itemId
     ) {
@@ -59,7 +60,7 @@ public class ItemController {
      * @return созданная вещь
      */
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(USER_HEADER) Long userId,
             @RequestBody @Valid ItemCreateRequest itemCreateRequest
     ) {
@@ -77,7 +78,7 @@ public class ItemController {
      * @return вещь
      */
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader(USER_HEADER) Long userId,
             @PathVariable long itemId,
             @RequestBody ItemUpdateRequest itemUpdateRequest
@@ -93,7 +94,7 @@ public class ItemController {
      * @return список найденных доступных вещей
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> findAllByName(
+    public Mono<ResponseEntity<Object>> findAllByName(
             @RequestParam String text,
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
             @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
@@ -112,7 +113,7 @@ public class ItemController {
      * @return созданный комментарий
      */
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @RequestHeader(USER_HEADER) Long userId,
             @PathVariable long itemId,
             @RequestBody @Valid CommentCreateRequest commentCreateRequest
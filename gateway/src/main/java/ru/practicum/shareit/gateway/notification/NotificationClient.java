@@ -0,0 +1,74 @@
+package ru.practicum.shareit.gateway.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+import ru.practicum.shareit.gateway.common.ServerEndpoint;
+import ru.practicum.shareit.gateway.common.ServerLoadBalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.server.common.Constants.USER_HEADER;
+
+/**
+ * Поток уведомлений пользователя со всех экземпляров сервера: событие возникает на том экземпляре,
+ * который обработал изменение, поэтому шлюз подписывается на каждый и объединяет потоки.
+ * Закрытый или оборванный поток экземпляра переоткрывается через shareit-gateway.notifications.reconnect-delay.
+ */
+@Service
+public class NotificationClient {
+    private static final String API_PREFIX = "/notifications";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final List<ServerEndpoint> endpoints;
+    private final WebClient webClient;
+    private final Duration reconnectDelay;
+
+    public NotificationClient(
+            ServerLoadBalancer loadBalancer,
+            WebClient.Builder builder,
+            @Value("${shareit-gateway.notifications.reconnect-delay:PT2S}") Duration reconnectDelay
+    ) {
+        this.endpoints = loadBalancer.getEndpoints();
+        this.webClient = builder.build();
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Flux<ServerSentEvent<String>> stream(long userId) {
+        List<Flux<ServerSentEvent<String>>> streams = endpoints.stream()
+                .map(endpoint -> stream(endpoint, userId))
+                .collect(Collectors.toList());
+        return Flux.merge(streams);
+    }
+
+    private Flux<ServerSentEvent<String>> stream(ServerEndpoint endpoint, long userId) {
+        return webClient.get()
+                .uri(endpoint.getUrl() + API_PREFIX)
+                .header(USER_HEADER, String.valueOf(userId))
+                .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, reconnectDelay)
+                        .filter(NotificationClient::isReconnectable));
+    }
+
+    /**
+     * Ответ 4xx (например, неизвестный пользователь) не исправится переподключением и закрывает поток клиента;
+     * application/json в Accept нужен, чтобы сервер мог вернуть такую ошибку с телом
+     */
+    private static boolean isReconnectable(Throwable error) {
+        return !(error instanceof WebClientResponseException)
+                || !((WebClientResponseException) error).getStatusCode().is4xxClientError();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.gateway.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Передача потока уведомлений клиенту шлюза. Между серверами и клиентом у каждого подключения
+ * ограниченный буфер: если клиент не успевает читать, старые события отбрасываются.
+ * Число подключений публикуется в метрике shareit.gateway.notifications.connections,
+ * отброшенные события — в shareit.gateway.notifications.dropped.
+ * Идентификаторы событий сервера нумеруются в пределах его подключения и в объединённом потоке повторяются,
+ * поэтому шлюз нумерует события подключения клиента заново.
+ */
+@Component
+public class NotificationRelay {
+    public static final String CONNECTIONS_METRIC = "shareit.gateway.notifications.connections";
+    public static final String DROPPED_METRIC = "shareit.gateway.notifications.dropped";
+
+    private final NotificationClient client;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+
+    public NotificationRelay(
+            NotificationClient client,
+            MeterRegistry meterRegistry,
+            @Value("${shareit-gateway.notifications.buffer-size:256}") int bufferSize,
+            @Value("${shareit-gateway.notifications.timeout:PT30M}") Duration timeout
+    ) {
+        this.client = client;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.dropped = meterRegistry.counter(DROPPED_METRIC);
+        Gauge.builder(CONNECTIONS_METRIC, connections, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter open(long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        AtomicLong nextEventId = new AtomicLong();
+
+        Disposable subscription = client.stream(userId)
+                .onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .doOnSubscribe(s -> connections.incrementAndGet())
+                .doFinally(signal -> connections.decrementAndGet())
+                .subscribe(event -> send(emitter, event, nextEventId.incrementAndGet()),
+                        emitter::completeWithError, emitter::complete);
+
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, ServerSentEvent<String> event, long eventId) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .id(String.valueOf(eventId));
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+}
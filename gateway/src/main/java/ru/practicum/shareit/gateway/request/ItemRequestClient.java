@@ -1,15 +1,15 @@
 package ru.practicum.shareit.gateway.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.common.BaseClient;
+import ru.practicum.shareit.gateway.common.ServerLoadBalancer;
+import ru.practicum.shareit.gateway.common.ServerTransportFactory;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -17,28 +17,36 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(
+            ServerLoadBalancer loadBalancer,
+            ServerTransportFactory transportFactory
+    ) {
+        super(loadBalancer.transport(transportFactory, API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestCreateRequest itemRequestCreateRequest) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestCreateRequest itemRequestCreateRequest) {
         return post("", userId, itemRequestCreateRequest);
     }
 
-    public ResponseEntity<Object> findAllByAuthor(long authorId) {
+    public Mono<ResponseEntity<Object>> findAllByAuthor(long authorId) {
         return get("", authorId);
     }
 
-    public ResponseEntity<Object> findAll(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAll(long userId, int from, int size) {
         return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> findById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> findFeed(long userId, String cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get("/all/feed?size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/all/feed?size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long userId, long requestId) {
         return get("/{requestId}", userId, Map.of("requestId", requestId));
     }
 }
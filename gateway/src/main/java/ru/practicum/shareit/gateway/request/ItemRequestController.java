@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
 
 import javax.validation.Valid;
@@ -29,7 +30,7 @@ public class ItemRequestController {
      * @return найденные запросы
      */
     @GetMapping
-    public ResponseEntity<Object> findAllByAuthor(
+    public Mono<ResponseEntity<Object>> findAllByAuthor(
             @RequestHeader(USER_HEADER) Long authorId
     ) {
         log.info("Получение списка запросов по автору {}", authorId);
@@ -45,7 +46,7 @@ public class ItemRequestController {
      * @return найденные запросы
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> findAll(
+    public Mono<ResponseEntity<Object>> findAll(
             @RequestHeader(USER_HEADER) Long userId,
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
             @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
@@ -54,6 +55,24 @@ public class ItemRequestController {
         return client.findAll(userId, from, size);
     }
 
+    /**
+     * Лента запросов других пользователей с постраничным переходом по курсору
+     *
+     * @param userId идентификатор пользователя
+     * @param cursor курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size   размер страницы
+     * @return страница запросов и курсор следующей страницы
+     */
+    @GetMapping("/all/feed")
+    public Mono<ResponseEntity<Object>> findFeed(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты запросов для пользователя {}", userId);
+        return client.findFeed(userId, cursor, size);
+    }
+
     /**
      * Получение запроса по идентификатору
      *
@@ -62,7 +81,7 @@ public class ItemRequestController {
      * @return найденный запрос
      */
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader(USER_HEADER) Long userId,
             @PathVariable long requestId
     ) {
@@ -78,7 +97,7 @@ public class ItemRequestController {
      * @return созданный запрос
      */
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(USER_HEADER) Long userId,
             @RequestBody @Valid ItemRequestCreateRequest createRequest
     ) {
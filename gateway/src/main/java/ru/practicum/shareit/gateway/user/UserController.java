@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 
@@ -23,7 +24,7 @@ public class UserController {
     private final UserClient client;
 
     @GetMapping
-    public ResponseEntity<Object> findAll(
+    public Mono<ResponseEntity<Object>> findAll(
             @PositiveOrZero @RequestParam(defaultValue = DEFAULT_FROM) int from,
             @Positive @RequestParam(defaultValue = DEFAULT_SIZE) int size
     ) {
@@ -31,22 +32,22 @@ public class UserController {
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> findById(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> findById(@PathVariable long id) {
         return client.findById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid UserCreateRequest userCreateRequest) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid UserCreateRequest userCreateRequest) {
         return client.create(userCreateRequest);
     }
 
     @PatchMapping("{id}")
-    public ResponseEntity<Object> update(@PathVariable long id, @RequestBody @Valid UserUpdateRequest userUpdateRequest) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable long id, @RequestBody @Valid UserUpdateRequest userUpdateRequest) {
         return client.update(id, userUpdateRequest);
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<Object> delete(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long id) {
         return client.delete(id);
     }
 }
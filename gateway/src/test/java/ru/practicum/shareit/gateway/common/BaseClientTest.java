@@ -0,0 +1,118 @@
+package ru.practicum.shareit.gateway.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.server.common.Constants.USER_HEADER;
+
+class BaseClientTest {
+
+    private static final String ETAG = "W/\"0a1b2c\"";
+
+    private final RecordingTransport transport = new RecordingTransport();
+
+    private final TestClient client = new TestClient(transport);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void clientRequest(@Nullable String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    void get_whenClientSentIfNoneMatch_thenForwardedToServer() {
+        clientRequest(ETAG);
+
+        client.get("/1", 1L).block();
+
+        assertThat(transport.headers.getIfNoneMatch(), contains(ETAG));
+        assertThat(transport.headers.getFirst(USER_HEADER), equalTo("1"));
+    }
+
+    @Test
+    void get_whenClientSentNoIfNoneMatch_thenNotSentToServer() {
+        clientRequest(null);
+
+        client.get("/1", 1L).block();
+
+        assertThat(transport.headers.containsKey(HttpHeaders.IF_NONE_MATCH), is(false));
+    }
+
+    @Test
+    void get_whenOutsideClientRequest_thenNotSentToServer() {
+        client.get("/1", 1L).block();
+
+        assertThat(transport.headers.containsKey(HttpHeaders.IF_NONE_MATCH), is(false));
+    }
+
+    @Test
+    void patch_whenClientSentIfNoneMatch_thenNotForwardedToServer() {
+        clientRequest(ETAG);
+
+        client.patch("/1", 1L, Map.of("name", "name")).block();
+
+        assertThat(transport.headers.containsKey(HttpHeaders.IF_NONE_MATCH), is(false));
+    }
+
+    @Test
+    void get_whenServerAnsweredNotModified_thenStatusAndEtagReturnedWithoutBody() {
+        clientRequest(ETAG);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setETag(ETAG);
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        transport.response = ResponseEntity.status(304).headers(serverHeaders).build();
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        assertThat(response.getStatusCodeValue(), equalTo(304));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION), is(false));
+        assertThat(response.hasBody(), is(false));
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(ServerTransport transport) {
+            super(transport);
+        }
+    }
+
+    private static class RecordingTransport implements ServerTransport {
+        private HttpHeaders headers;
+        private ResponseEntity<byte[]> response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{}".getBytes());
+
+        @Override
+        public Mono<ResponseEntity<byte[]>> exchange(
+                HttpMethod method,
+                String path,
+                HttpHeaders headers,
+                @Nullable Map<String, Object> parameters,
+                @Nullable Object body
+        ) {
+            this.headers = headers;
+            return Mono.just(response);
+        }
+    }
+}
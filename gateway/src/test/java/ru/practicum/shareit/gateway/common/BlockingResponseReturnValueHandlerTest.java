@@ -0,0 +1,98 @@
+package ru.practicum.shareit.gateway.common;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BlockingResponseReturnValueHandlerTest {
+
+    private final BlockingResponseReturnValueHandler handler = new BlockingResponseReturnValueHandler(
+            new HttpEntityMethodProcessor(List.of(new ByteArrayHttpMessageConverter()))
+    );
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private final ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+    @SuppressWarnings("unused")
+    private Mono<ResponseEntity<Object>> response() {
+        return Mono.empty();
+    }
+
+    @SuppressWarnings("unused")
+    private Mono<String> text() {
+        return Mono.empty();
+    }
+
+    @SneakyThrows
+    private static MethodParameter returnType(String methodName) {
+        return new MethodParameter(BlockingResponseReturnValueHandlerTest.class.getDeclaredMethod(methodName), -1);
+    }
+
+    @Test
+    void supportsReturnType_whenMonoOfResponseEntity_thenTrue() {
+        assertThat(handler.supportsReturnType(returnType("response")), is(true));
+    }
+
+    @Test
+    void supportsReturnType_whenMonoOfOtherType_thenFalse() {
+        assertThat(handler.supportsReturnType(returnType("text")), is(false));
+    }
+
+    @SneakyThrows
+    @Test
+    void handleReturnValue_whenMonoOfResponseEntity_thenWrittenInCallingThreadWithoutAsync() {
+        request.setAsyncSupported(true);
+        AtomicReference<Thread> exchangeThread = new AtomicReference<>();
+        Mono<ResponseEntity<Object>> returnValue = Mono.fromCallable(() -> {
+            exchangeThread.set(Thread.currentThread());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        handler.handleReturnValue(returnValue, returnType("response"), mavContainer,
+                new ServletWebRequest(request, response));
+
+        assertThat(exchangeThread.get(), sameInstance(Thread.currentThread()));
+        assertThat(request.isAsyncStarted(), is(false));
+        assertThat(mavContainer.isRequestHandled(), is(true));
+        assertThat(response.getStatus(), equalTo(HttpStatus.CREATED.value()));
+        assertThat(response.getContentType(), equalTo(MediaType.APPLICATION_JSON_VALUE));
+        assertThat(response.getContentAsString(), equalTo("{\"id\":1}"));
+    }
+
+    @Test
+    void register_whenAdapterInitialized_thenHandlerPlacedFirst() {
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.refresh();
+        RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+        adapter.setApplicationContext(context);
+        adapter.afterPropertiesSet();
+
+        BlockingResponseReturnValueHandler.register(adapter);
+
+        assertThat(adapter.getReturnValueHandlers().get(0), instanceOf(BlockingResponseReturnValueHandler.class));
+    }
+}
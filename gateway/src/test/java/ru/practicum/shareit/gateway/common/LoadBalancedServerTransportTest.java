@@ -0,0 +1,208 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadBalancedServerTransportTest {
+
+    private static final String SERVER_1 = "http://server-1";
+    private static final String SERVER_2 = "http://server-2";
+    private static final String API_PREFIX = "/items";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ServerBalancerProperties properties = new ServerBalancerProperties();
+
+    private final ServerLoadBalancer loadBalancer =
+            new ServerLoadBalancer(List.of(SERVER_1, SERVER_2), properties, meterRegistry);
+
+    private StubTransport server1 = StubTransport.status(200);
+    private StubTransport server2 = StubTransport.status(200);
+
+    private ServerTransport transport() {
+        Map<String, StubTransport> stubs = Map.of(SERVER_1 + API_PREFIX, server1, SERVER_2 + API_PREFIX, server2);
+        return loadBalancer.transport(stubs::get, API_PREFIX);
+    }
+
+    private static ResponseEntity<byte[]> exchange(ServerTransport transport, HttpMethod method) {
+        return transport.exchange(method, "/1", new HttpHeaders(), null, null).block();
+    }
+
+    private double retries(String url) {
+        return meterRegistry.counter(ServerLoadBalancer.RETRIES_METRIC, "endpoint", url).count();
+    }
+
+    @Test
+    void exchange_whenRoundRobin_thenRequestsSentToEndpointsInTurn() {
+        ServerTransport transport = transport();
+
+        for (int i = 0; i < 4; i++) {
+            exchange(transport, HttpMethod.GET);
+        }
+
+        assertThat(server1.calls.get(), equalTo(2));
+        assertThat(server2.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void get_whenConnectionRefused_thenRetriedOnOtherEndpoint() {
+        server1 = StubTransport.connectionRefused();
+
+        ResponseEntity<byte[]> response = exchange(transport(), HttpMethod.GET);
+
+        assertThat(response.getStatusCodeValue(), equalTo(200));
+        assertThat(server1.calls.get(), equalTo(1));
+        assertThat(server2.calls.get(), equalTo(1));
+        assertThat(retries(SERVER_1), equalTo(1.0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {502, 503, 504})
+    void get_whenEndpointUnavailable_thenRetriedOnOtherEndpoint(int status) {
+        server1 = StubTransport.status(status);
+
+        ResponseEntity<byte[]> response = exchange(transport(), HttpMethod.GET);
+
+        assertThat(response.getStatusCodeValue(), equalTo(200));
+        assertThat(server2.calls.get(), equalTo(1));
+        assertThat(retries(SERVER_1), equalTo(1.0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404, 409, 500})
+    void get_whenServerAnsweredWithError_thenResponseReturnedWithoutRetry(int status) {
+        server1 = StubTransport.status(status);
+
+        ResponseEntity<byte[]> response = exchange(transport(), HttpMethod.GET);
+
+        assertThat(response.getStatusCodeValue(), equalTo(status));
+        assertThat(server2.calls.get(), equalTo(0));
+    }
+
+    @Test
+    void get_whenAllAttemptsUnavailable_thenLastResponseReturned() {
+        server1 = StubTransport.status(503);
+        server2 = StubTransport.status(502);
+
+        ResponseEntity<byte[]> response = exchange(transport(), HttpMethod.GET);
+
+        assertThat(response.getStatusCodeValue(), equalTo(502));
+        assertThat(server1.calls.get(), equalTo(1));
+        assertThat(server2.calls.get(), equalTo(1));
+    }
+
+    @Test
+    void get_whenAllAttemptsRefused_thenConnectionErrorThrown() {
+        server1 = StubTransport.connectionRefused();
+        server2 = StubTransport.connectionRefused();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> exchange(transport(), HttpMethod.GET));
+
+        assertThat(exception.getCause(), instanceOf(ConnectException.class));
+    }
+
+    @Test
+    void get_whenSingleAttemptConfigured_thenNotRetried() {
+        properties.setGetAttempts(1);
+        server1 = StubTransport.status(503);
+
+        ResponseEntity<byte[]> response = exchange(transport(), HttpMethod.GET);
+
+        assertThat(response.getStatusCodeValue(), equalTo(503));
+        assertThat(server2.calls.get(), equalTo(0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = HttpMethod.class, names = {"POST", "PATCH", "PUT", "DELETE"})
+    void exchange_whenNotGetAndConnectionRefused_thenNotRetried(HttpMethod method) {
+        server1 = StubTransport.connectionRefused();
+        ServerTransport transport = transport();
+
+        assertThrows(RuntimeException.class, () -> exchange(transport, method));
+
+        assertThat(server2.calls.get(), equalTo(0));
+        assertThat(retries(SERVER_1), equalTo(0.0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = HttpMethod.class, names = {"POST", "PATCH"})
+    void exchange_whenNotGetAndEndpointUnavailable_thenResponseReturnedWithoutRetry(HttpMethod method) {
+        server1 = StubTransport.status(503);
+
+        ResponseEntity<byte[]> response = exchange(transport(), method);
+
+        assertThat(response.getStatusCodeValue(), equalTo(503));
+        assertThat(server2.calls.get(), equalTo(0));
+    }
+
+    @Test
+    void get_whenEndpointFailsRepeatedly_thenEjectedAndRequestsSentToOtherEndpoint() {
+        properties.setFailureThreshold(2);
+        server1 = StubTransport.status(503);
+        ServerTransport transport = transport();
+
+        for (int i = 0; i < 6; i++) {
+            exchange(transport, HttpMethod.GET);
+        }
+
+        assertThat(server1.calls.get(), equalTo(2));
+        assertThat(server2.calls.get(), equalTo(6));
+    }
+
+    @Test
+    void exchange_whenFinished_thenOutstandingRequestsReleased() {
+        server1 = StubTransport.connectionRefused();
+
+        exchange(transport(), HttpMethod.GET);
+
+        assertThat(loadBalancer.getEndpoints(), everyItem(hasProperty("outstanding", equalTo(0))));
+    }
+
+    private static class StubTransport implements ServerTransport {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Supplier<Mono<ResponseEntity<byte[]>>> response;
+
+        private StubTransport(Supplier<Mono<ResponseEntity<byte[]>>> response) {
+            this.response = response;
+        }
+
+        static StubTransport status(int status) {
+            return new StubTransport(() -> Mono.just(ResponseEntity.status(status).body(new byte[0])));
+        }
+
+        static StubTransport connectionRefused() {
+            return new StubTransport(() -> Mono.error(new ConnectException("Connection refused")));
+        }
+
+        @Override
+        public Mono<ResponseEntity<byte[]>> exchange(
+                HttpMethod method,
+                String path,
+                HttpHeaders headers,
+                @Nullable Map<String, Object> parameters,
+                @Nullable Object body
+        ) {
+            calls.incrementAndGet();
+            return response.get();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.gateway.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerLoadBalancerTest {
+
+    private static final String SERVER_1 = "http://server-1";
+    private static final String SERVER_2 = "http://server-2";
+    private static final String SERVER_3 = "http://server-3";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ServerBalancerProperties properties = new ServerBalancerProperties();
+
+    private ServerLoadBalancer loadBalancer(String... urls) {
+        return new ServerLoadBalancer(List.of(urls), properties, meterRegistry);
+    }
+
+    private List<String> choose(ServerLoadBalancer loadBalancer, int times) {
+        List<String> chosen = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            chosen.add(loadBalancer.choose(Set.of()).getUrl());
+        }
+        return chosen;
+    }
+
+    private static ServerEndpoint endpoint(ServerLoadBalancer loadBalancer, String url) {
+        return loadBalancer.getEndpoints().stream()
+                .filter(endpoint -> endpoint.getUrl().equals(url))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void create_whenNoUrls_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, this::loadBalancer);
+    }
+
+    @Test
+    void choose_whenRoundRobin_thenEndpointsChosenInTurn() {
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2, SERVER_3);
+
+        assertThat(choose(loadBalancer, 6), contains(SERVER_1, SERVER_2, SERVER_3, SERVER_1, SERVER_2, SERVER_3));
+    }
+
+    @Test
+    void choose_whenLeastOutstanding_thenEndpointWithFewestRequestsChosen() {
+        properties.setStrategy(ServerBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2, SERVER_3);
+        endpoint(loadBalancer, SERVER_1).requestStarted();
+        endpoint(loadBalancer, SERVER_1).requestStarted();
+        endpoint(loadBalancer, SERVER_3).requestStarted();
+
+        assertThat(choose(loadBalancer, 3), everyItem(equalTo(SERVER_2)));
+    }
+
+    @Test
+    void choose_whenLeastOutstandingAndLoadEqual_thenEndpointsChosenInTurn() {
+        properties.setStrategy(ServerBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+
+        assertThat(choose(loadBalancer, 4), contains(SERVER_1, SERVER_2, SERVER_1, SERVER_2));
+    }
+
+    @Test
+    void choose_whenEndpointAlreadyTried_thenOtherEndpointChosen() {
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+        ServerEndpoint tried = endpoint(loadBalancer, SERVER_1);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(loadBalancer.choose(Set.of(tried)).getUrl(), equalTo(SERVER_2));
+        }
+    }
+
+    @Test
+    void failed_whenFailuresBelowThreshold_thenEndpointNotEjected() {
+        properties.setFailureThreshold(3);
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+        ServerEndpoint endpoint = endpoint(loadBalancer, SERVER_1);
+
+        loadBalancer.failed(endpoint);
+        loadBalancer.failed(endpoint);
+        loadBalancer.succeeded(endpoint);
+        loadBalancer.failed(endpoint);
+        loadBalancer.failed(endpoint);
+
+        assertThat(choose(loadBalancer, 4), hasItem(SERVER_1));
+        assertThat(meterRegistry.find(ServerLoadBalancer.EJECTIONS_METRIC).counter(), nullValue());
+    }
+
+    @Test
+    void failed_whenFailureThresholdReached_thenEndpointEjected() {
+        properties.setFailureThreshold(3);
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+        ServerEndpoint endpoint = endpoint(loadBalancer, SERVER_1);
+
+        loadBalancer.failed(endpoint);
+        loadBalancer.failed(endpoint);
+        loadBalancer.failed(endpoint);
+
+        assertThat(choose(loadBalancer, 4), everyItem(equalTo(SERVER_2)));
+        assertThat(meterRegistry.get(ServerLoadBalancer.EJECTIONS_METRIC).tag("endpoint", SERVER_1).counter().count(),
+                equalTo(1.0));
+    }
+
+    @Test
+    void choose_whenEjectionTimePassed_thenEndpointReadmitted() throws InterruptedException {
+        properties.setFailureThreshold(1);
+        properties.setEjectionTime(Duration.ofMillis(100));
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+        loadBalancer.failed(endpoint(loadBalancer, SERVER_1));
+        assertThat(choose(loadBalancer, 2), everyItem(equalTo(SERVER_2)));
+
+        Thread.sleep(150);
+
+        assertThat(choose(loadBalancer, 2), containsInAnyOrder(SERVER_1, SERVER_2));
+    }
+
+    @Test
+    void choose_whenAllEndpointsEjected_thenAllEndpointsChosen() {
+        properties.setFailureThreshold(1);
+        ServerLoadBalancer loadBalancer = loadBalancer(SERVER_1, SERVER_2);
+        loadBalancer.failed(endpoint(loadBalancer, SERVER_1));
+        loadBalancer.failed(endpoint(loadBalancer, SERVER_2));
+
+        assertThat(choose(loadBalancer, 2), containsInAnyOrder(SERVER_1, SERVER_2));
+    }
+}
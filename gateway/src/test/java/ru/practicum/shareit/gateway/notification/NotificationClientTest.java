@@ -0,0 +1,124 @@
+package ru.practicum.shareit.gateway.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.common.ServerBalancerProperties;
+import ru.practicum.shareit.gateway.common.ServerLoadBalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.server.common.Constants.USER_HEADER;
+
+class NotificationClientTest {
+
+    private static final String SERVER_1 = "http://server-1";
+    private static final String SERVER_2 = "http://server-2";
+    private static final Duration RECONNECT_DELAY = Duration.ofMillis(10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Queue<ClientRequest> requests = new ConcurrentLinkedQueue<>();
+
+    private NotificationClient client(Function<String, ClientResponse> server, String... urls) {
+        ServerLoadBalancer loadBalancer =
+                new ServerLoadBalancer(List.of(urls), new ServerBalancerProperties(), new SimpleMeterRegistry());
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String url = request.url().getScheme() + "://" + request.url().getAuthority();
+                    calls.computeIfAbsent(url, key -> new AtomicInteger()).incrementAndGet();
+                    requests.add(request);
+                    return Mono.just(server.apply(url));
+                });
+        return new NotificationClient(loadBalancer, builder, RECONNECT_DELAY);
+    }
+
+    private static ClientResponse events(String data) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body("id:1\nevent:BOOKING_APPROVED\ndata:" + data + "\n\n")
+                .build();
+    }
+
+    private static ClientResponse status(HttpStatus status) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"" + status.getReasonPhrase() + "\"}")
+                .build();
+    }
+
+    private int calls(String url) {
+        return calls.getOrDefault(url, new AtomicInteger()).get();
+    }
+
+    @Test
+    void stream_whenSeveralServers_thenEventsOfAllServersMerged() {
+        NotificationClient client = client(url -> events("\"" + url + "\""), SERVER_1, SERVER_2);
+
+        List<String> data = client.stream(1L)
+                .take(2)
+                .map(ServerSentEvent::data)
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(data, containsInAnyOrder("\"" + SERVER_1 + "\"", "\"" + SERVER_2 + "\""));
+        assertThat(requests.stream().map(request -> request.headers().getFirst(USER_HEADER)).collect(Collectors.toList()),
+                everyItem(equalTo("1")));
+        assertThat(requests.stream().map(request -> request.url().getPath()).collect(Collectors.toList()),
+                everyItem(equalTo("/notifications")));
+    }
+
+    @Test
+    void stream_whenServerStreamCompleted_thenReconnected() {
+        NotificationClient client = client(url -> events("{}"), SERVER_1);
+
+        List<ServerSentEvent<String>> events = client.stream(1L)
+                .take(3)
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(events, hasSize(3));
+        assertThat(calls(SERVER_1), greaterThanOrEqualTo(3));
+    }
+
+    @Test
+    void stream_whenServerUnavailable_thenReconnected() {
+        AtomicInteger attempts = new AtomicInteger();
+        NotificationClient client = client(url -> attempts.incrementAndGet() < 3
+                ? status(HttpStatus.SERVICE_UNAVAILABLE)
+                : events("{}"), SERVER_1);
+
+        ServerSentEvent<String> event = client.stream(1L).blockFirst(TIMEOUT);
+
+        assertThat(event.event(), equalTo("BOOKING_APPROVED"));
+        assertThat(calls(SERVER_1), equalTo(3));
+    }
+
+    @Test
+    void stream_whenServerAnsweredClientError_thenStreamFailedWithoutReconnect() {
+        NotificationClient client = client(url -> status(HttpStatus.NOT_FOUND), SERVER_1);
+
+        assertThrows(WebClientResponseException.NotFound.class, () -> client.stream(1L).blockFirst(TIMEOUT));
+
+        assertThat(calls(SERVER_1), equalTo(1));
+    }
+}
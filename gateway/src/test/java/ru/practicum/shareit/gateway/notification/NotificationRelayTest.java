@@ -0,0 +1,88 @@
+package ru.practicum.shareit.gateway.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static ru.practicum.shareit.server.common.Constants.USER_HEADER;
+
+class NotificationRelayTest {
+
+    private static final long ASYNC_TIMEOUT_MILLIS = 5_000;
+
+    private final NotificationClient client = mock(NotificationClient.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        NotificationRelay relay = new NotificationRelay(client, meterRegistry, 16, Duration.ofMinutes(1));
+        mvc = MockMvcBuilders.standaloneSetup(new NotificationController(relay)).build();
+    }
+
+    @Test
+    void open_whenServersSendSameEventIds_thenClientReceivesIncreasingIds() throws Exception {
+        when(client.stream(1L))
+                .thenReturn(Flux.just(
+                        event("1", "{\"server\":1}"),
+                        event("1", "{\"server\":2}"),
+                        event("2", "{\"server\":1}")));
+
+        String body = stream(1L);
+
+        assertThat(lines(body, "id:"), contains("id:1", "id:2", "id:3"));
+        assertThat(lines(body, "data:"), contains("data:{\"server\":1}", "data:{\"server\":2}", "data:{\"server\":1}"));
+        assertThat(lines(body, "event:"), everyItem(equalTo("event:BOOKING_APPROVED")));
+    }
+
+    @Test
+    void open_whenStreamCompleted_thenConnectionNotCounted() throws Exception {
+        when(client.stream(1L))
+                .thenReturn(Flux.just(event("1", "{}")));
+
+        stream(1L);
+
+        assertThat(meterRegistry.get(NotificationRelay.CONNECTIONS_METRIC).gauge().value(), equalTo(0.0));
+    }
+
+    private String stream(long userId) throws Exception {
+        MvcResult result = mvc.perform(get("/notifications").header(USER_HEADER, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(ASYNC_TIMEOUT_MILLIS);
+        return result.getResponse().getContentAsString();
+    }
+
+    private static ServerSentEvent<String> event(String id, String data) {
+        return ServerSentEvent.<String>builder()
+                .id(id)
+                .event("BOOKING_APPROVED")
+                .data(data)
+                .build();
+    }
+
+    private static List<String> lines(String body, String prefix) {
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> line.startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+}
@@ -3,9 +3,12 @@ package ru.practicum.shareit.server.booking.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResponse;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.server.booking.dto.BookingFeedResponse;
 import ru.practicum.shareit.server.booking.dto.BookingMapper;
 import ru.practicum.shareit.server.booking.dto.BookingResponse;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.BookingState;
 import ru.practicum.shareit.server.booking.service.BookingService;
 
@@ -65,7 +68,7 @@ public class BookingController {
     ) {
         log.info("Получение списка по бронированию пользователя {}", bookerId);
         BookingState state = BookingState.parse(stateFilter);
-        return mapper.mapToResponseEntity(bookingService.findAllByBookerId(bookerId, state, from, size));
+        return bookingService.findAllByBookerId(bookerId, state, from, size);
     }
 
     /**
@@ -93,7 +96,53 @@ public class BookingController {
     ) {
         log.info("Получение списка по бронированию владельца предмета ownerId={}", ownerId);
         BookingState state = BookingState.parse(stateFilter);
-        return mapper.mapToResponseEntity(bookingService.findAllByOwnerId(ownerId, state, from, size));
+        return bookingService.findAllByOwnerId(ownerId, state, from, size);
+    }
+
+    /**
+     * Лента бронирований пользователя с постраничным переходом по курсору
+     *
+     * @param bookerId    идентификатор пользователя
+     * @param stateFilter состояние бронирования, как в {@link #findAllByBookerId}
+     * @param cursor      курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size        размер страницы
+     * @return страница бронирований и курсор следующей страницы
+     */
+    @GetMapping("/feed")
+    public BookingFeedResponse findFeedByBookerId(
+            @RequestHeader(USER_HEADER) Long bookerId,
+            @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты бронирований пользователя {}", bookerId);
+        BookingState state = BookingState.parse(stateFilter);
+        return mapper.mapToFeedResponse(
+                bookingService.findFeedByBookerId(bookerId, state, BookingCursor.decode(cursor), size)
+        );
+    }
+
+    /**
+     * Лента бронирований владельца предмета с постраничным переходом по курсору
+     *
+     * @param ownerId     идентификатор владельца предмета
+     * @param stateFilter состояние бронирования, как в {@link #findAllByOwnerId}
+     * @param cursor      курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size        размер страницы
+     * @return страница бронирований и курсор следующей страницы
+     */
+    @GetMapping("/owner/feed")
+    public BookingFeedResponse findFeedByOwnerId(
+            @RequestHeader(USER_HEADER) Long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") String stateFilter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты бронирований владельца предмета ownerId={}", ownerId);
+        BookingState state = BookingState.parse(stateFilter);
+        return mapper.mapToFeedResponse(
+                bookingService.findFeedByOwnerId(ownerId, state, BookingCursor.decode(cursor), size)
+        );
     }
 
     /**
@@ -131,4 +180,41 @@ public class BookingController {
         log.info("Подтверждение или отклонение бронирования владельцем={} статус={}", ownerId, available);
         return mapper.mapToResponseEntity(bookingService.approve(ownerId, bookingId, available));
     }
+
+    /**
+     * Пакетное создание бронирований
+     *
+     * @param bookerId              идентификатор пользователя
+     * @param bookingCreateRequests параметры создания бронирований
+     * @return результаты в порядке запроса: созданное бронирование или причина отказа
+     */
+    @PostMapping("/batch")
+    public List<BookingBatchResponse> createAll(
+            @RequestHeader(USER_HEADER) Long bookerId,
+            @RequestBody List<BookingCreateRequest> bookingCreateRequests
+    ) {
+        log.info("Пакетное создание {} бронирований пользователем с id={}", bookingCreateRequests.size(), bookerId);
+        return mapper.mapToBatchResponse(
+                bookingService.createAll(bookerId, mapper.mapFromCreateRequestDto(bookingCreateRequests))
+        );
+    }
+
+    /**
+     * Пакетное подтверждение или отклонение бронирований
+     *
+     * @param ownerId    идентификатор владельца
+     * @param bookingIds идентификаторы бронирований
+     * @param available  подтверждение или отклонение
+     * @return результаты в порядке запроса: изменённое бронирование или причина отказа
+     */
+    @PatchMapping("/batch")
+    public List<BookingBatchResponse> updateAll(
+            @RequestHeader(USER_HEADER) Long ownerId,
+            @RequestBody List<Long> bookingIds,
+            @RequestParam(name = "approved") Boolean available
+    ) {
+        log.info("Пакетное подтверждение или отклонение {} бронирований владельцем={} статус={}",
+                bookingIds.size(), ownerId, available);
+        return mapper.mapToBatchResponse(bookingService.approveAll(ownerId, bookingIds, available));
+    }
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingFeedResponse {
+
+    List<BookingResponse> bookings;
+
+    /**
+     * Курсор следующей страницы, отсутствует на последней странице
+     */
+    String nextCursor;
+}
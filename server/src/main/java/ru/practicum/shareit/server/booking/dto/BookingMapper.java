@@ -2,12 +2,56 @@ package ru.practicum.shareit.server.booking.dto;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
+import ru.practicum.shareit.server.booking.repository.BookingListView;
 import ru.practicum.shareit.server.common.dto.AbstractMapper;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface BookingMapper extends AbstractMapper<Booking, BookingResponse, BookingCreateRequest, Void> {
     @Override
     @Mapping(target = "item.id", source = "itemId")
     Booking mapFromCreateRequestDto(BookingCreateRequest entityCreateRequestDto);
+
+    List<Booking> mapFromCreateRequestDto(List<BookingCreateRequest> entityCreateRequestDtos);
+
+    List<BookingBatchResponse> mapToBatchResponse(List<BookingBatchResult> results);
+
+    /**
+     * Вещь бронирования без последнего и ближайшего бронирования: эти поля видит только владелец вещи
+     * в её карточке и в списке своих вещей
+     */
+    @Override
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    BookingResponse mapToResponseEntity(Booking entity);
+
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(target = "item.comments", ignore = true)
+    BookingResponse mapToResponse(BookingListView view);
+
+    List<BookingResponse> mapToResponse(List<BookingListView> views);
+
+    default BookingFeedResponse mapToFeedResponse(Slice<Booking> slice) {
+        BookingFeedResponse response = new BookingFeedResponse();
+        response.setBookings(mapToResponseEntity(slice.getContent()));
+        if (slice.hasNext()) {
+            List<Booking> content = slice.getContent();
+            response.setNextCursor(BookingCursor.after(content.get(content.size() - 1)).encode());
+        }
+        return response;
+    }
 }
@@ -16,7 +16,15 @@ import java.time.LocalDateTime;
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_BOOKER, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")
+})
 public class Booking extends AbstractEntity {
+    /**
+     * Граф для списков бронирований: вещь и арендатор загружаются тем же запросом, что и страница
+     */
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
 
     @ManyToOne
     @JoinColumn(name = "booker_id")
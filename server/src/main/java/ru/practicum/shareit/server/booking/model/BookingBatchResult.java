@@ -0,0 +1,27 @@
+package ru.practicum.shareit.server.booking.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Результат обработки одной записи пакетного запроса: бронирование либо причина отказа
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingBatchResult {
+
+    Booking booking;
+
+    String error;
+
+    public static BookingBatchResult success(Booking booking) {
+        return new BookingBatchResult(booking, null);
+    }
+
+    public static BookingBatchResult failure(String error) {
+        return new BookingBatchResult(null, error);
+    }
+}
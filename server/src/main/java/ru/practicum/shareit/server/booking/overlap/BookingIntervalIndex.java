@@ -0,0 +1,53 @@
+package ru.practicum.shareit.server.booking.overlap;
+
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Индекс периодов подтверждённых бронирований по вещам для проверки пересечений
+ */
+public interface BookingIntervalIndex {
+
+    /**
+     * Подготовка индекса к пакетной обработке бронирований нескольких вещей
+     *
+     * @param itemIds идентификаторы вещей пакета
+     */
+    void preload(Collection<Long> itemIds);
+
+    /**
+     * Подготовка к подтверждению бронирований нескольких вещей: до конца транзакции периоды этих вещей
+     * не могут измениться в других транзакциях, в том числе на других экземплярах сервера
+     *
+     * @param itemIds идентификаторы вещей
+     */
+    void lockForApproval(Collection<Long> itemIds);
+
+    /**
+     * Проверка пересечения периода с подтверждёнными бронированиями вещи
+     *
+     * @param itemId идентификатор вещи
+     * @param start  начало периода
+     * @param end    окончание периода
+     * @return true, если период пересекается с подтверждённым бронированием
+     */
+    boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Резервирование периода подтверждаемого бронирования
+     *
+     * @param booking подтверждаемое бронирование
+     * @throws BookingOverlapException если период уже занят подтверждённым бронированием
+     */
+    void reserve(Booking booking);
+
+    /**
+     * Снятие резерва, если подтверждение бронирования не было сохранено
+     *
+     * @param booking бронирование
+     */
+    void release(Booking booking);
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.server.booking.overlap;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.repository.BookingInterval;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Дерево интервалов в памяти для H2 и тестовых профилей.
+ * Дерево вещи строится из базы при первом обращении и отсекает пересечения при создании бронирований,
+ * но не видит подтверждений, зафиксированных другими экземплярами сервера. Поэтому перед подтверждением
+ * строка вещи блокируется в базе (select ... for update) до конца транзакции, а дерево вещи перечитывается
+ * под блокировкой: из двух одновременных подтверждений пересекающихся бронирований проходит только одно,
+ * в том числе на разных экземплярах.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBookingIntervalIndex implements BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    @Override
+    public void preload(Collection<Long> itemIds) {
+        Set<Long> missing = itemIds.stream()
+                .filter(itemId -> !trees.containsKey(itemId))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        load(missing).forEach(trees::putIfAbsent);
+    }
+
+    /**
+     * Вещи блокируются одним запросом, уже заблокированные в текущей транзакции вещи не перечитываются
+     */
+    @Override
+    public void lockForApproval(Collection<Long> itemIds) {
+        List<Long> missing = TransactionItemLocks.toLock(this, itemIds);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        itemRepository.lockAllByIdIn(missing);
+        trees.putAll(load(missing));
+    }
+
+    @Override
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree tree = treeOf(itemId);
+        synchronized (tree) {
+            return tree.overlaps(start, end);
+        }
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        lockForApproval(List.of(booking.getItem().getId()));
+
+        IntervalTree tree = treeOf(booking.getItem().getId());
+        synchronized (tree) {
+            if (tree.overlaps(booking.getStart(), booking.getEnd())) {
+                throw new BookingOverlapException("Вещь уже забронирована на указанный период");
+            }
+            tree.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(booking);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void release(Booking booking) {
+        IntervalTree tree = treeOf(booking.getItem().getId());
+        synchronized (tree) {
+            tree.remove(booking.getId(), booking.getStart());
+        }
+    }
+
+    private Map<Long, IntervalTree> load(Collection<Long> itemIds) {
+        Map<Long, IntervalTree> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId, new IntervalTree()));
+        for (BookingInterval interval : bookingRepository.findByItemIdInAndStatus(itemIds, Status.APPROVED)) {
+            loaded.get(interval.getItemId()).add(interval.getId(), interval.getStart(), interval.getEnd());
+        }
+        return loaded;
+    }
+
+    private IntervalTree treeOf(long itemId) {
+        return trees.computeIfAbsent(itemId, id -> {
+            IntervalTree tree = new IntervalTree();
+            for (BookingInterval interval : bookingRepository.findByItemIdAndStatus(id, Status.APPROVED)) {
+                tree.add(interval.getId(), interval.getStart(), interval.getEnd());
+            }
+            return tree;
+        });
+    }
+}
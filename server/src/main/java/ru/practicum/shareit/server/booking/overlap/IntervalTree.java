@@ -0,0 +1,177 @@
+package ru.practicum.shareit.server.booking.overlap;
+
+import java.time.LocalDateTime;
+
+/**
+ * AVL-дерево полуоткрытых интервалов [start, end), упорядоченных по началу и идентификатору бронирования.
+ * Каждый узел хранит наибольший конец интервала в своём поддереве, поэтому проверка пересечения,
+ * вставка и удаление выполняются за O(log n). Не потокобезопасно.
+ */
+class IntervalTree {
+
+    private Node root;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Проверка пересечения с каким-либо интервалом дерева
+     *
+     * @param start начало проверяемого интервала
+     * @param end   конец проверяемого интервала, не включается
+     * @return true, если найден интервал, пересекающийся с [start, end)
+     */
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && node.end.isAfter(start)) {
+                return true;
+            }
+            // если в левом поддереве есть интервал, заканчивающийся после start, но не пересекающийся,
+            // то он начинается не раньше end, а вместе с ним и все интервалы правого поддерева
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    void add(long id, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, id, start, end);
+    }
+
+    void remove(long id, LocalDateTime start) {
+        root = delete(root, id, start);
+    }
+
+    private Node insert(Node node, long id, LocalDateTime start, LocalDateTime end) {
+        if (node == null) {
+            size++;
+            return new Node(id, start, end);
+        }
+        int compare = node.compareTo(id, start);
+        if (compare > 0) {
+            node.left = insert(node.left, id, start, end);
+        } else if (compare < 0) {
+            node.right = insert(node.right, id, start, end);
+        } else {
+            node.end = end;
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, long id, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int compare = node.compareTo(id, start);
+        if (compare > 0) {
+            node.left = delete(node.left, id, start);
+        } else if (compare < 0) {
+            node.right = delete(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private Node balance(Node node) {
+        node.update();
+        int factor = Node.height(node.left) - Node.height(node.right);
+        if (factor > 1) {
+            if (Node.height(node.left.left) < Node.height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (Node.height(node.right.right) < Node.height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private LocalDateTime end;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        int compareTo(long otherId, LocalDateTime otherStart) {
+            int compare = start.compareTo(otherStart);
+            return compare != 0 ? compare : Long.compare(id, otherId);
+        }
+
+        void update() {
+            height = 1 + Math.max(height(left), height(right));
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+
+        static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+    }
+}
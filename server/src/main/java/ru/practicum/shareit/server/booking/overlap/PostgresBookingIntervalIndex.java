@@ -0,0 +1,64 @@
+package ru.practicum.shareit.server.booking.overlap;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Проверка пересечений средствами PostgreSQL: GiST-индекс ограничения исключения bookings_approved_no_overlap.
+ * Перед подтверждением строка вещи блокируется (select ... for update) до конца транзакции, поэтому
+ * одновременные подтверждения пересекающихся бронирований проверяются по очереди и отказ попадает в результат
+ * своей записи пакета. Ограничение исключения остаётся страховкой: его нарушение при фиксации откатывает
+ * всю транзакцию с ответом 409.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap", havingValue = "postgres")
+public class PostgresBookingIntervalIndex implements BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void preload(Collection<Long> itemIds) {
+        // каждая проверка — обращение к GiST-индексу, предварительная загрузка не нужна
+    }
+
+    /**
+     * Вещи блокируются одним запросом, уже заблокированные в текущей транзакции вещи не блокируются повторно
+     */
+    @Override
+    public void lockForApproval(Collection<Long> itemIds) {
+        List<Long> missing = TransactionItemLocks.toLock(this, itemIds);
+        if (!missing.isEmpty()) {
+            itemRepository.lockAllByIdIn(missing);
+        }
+    }
+
+    @Override
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsApprovedOverlap(itemId, start, end);
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        lockForApproval(List.of(booking.getItem().getId()));
+        if (overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingOverlapException("Вещь уже забронирована на указанный период");
+        }
+    }
+
+    @Override
+    public void release(Booking booking) {
+        // резерв держит ограничение исключения в базе данных
+    }
+}
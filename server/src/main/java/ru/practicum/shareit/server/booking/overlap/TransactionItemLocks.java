@@ -0,0 +1,59 @@
+package ru.practicum.shareit.server.booking.overlap;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Учёт вещей, строки которых индекс уже заблокировал в текущей транзакции
+ */
+final class TransactionItemLocks {
+
+    private TransactionItemLocks() {
+    }
+
+    /**
+     * Отбор вещей, которые индексу ещё нужно заблокировать; они сразу отмечаются заблокированными до конца транзакции.
+     * Вещи возвращаются в порядке идентификаторов, чтобы пакеты с общими вещами не блокировали друг друга взаимно.
+     * Вне транзакции блокировка не удерживается, поэтому возвращаются все вещи.
+     *
+     * @param index   индекс, от имени которого берутся блокировки
+     * @param itemIds идентификаторы вещей
+     * @return идентификаторы вещей для блокировки, без повторов и по возрастанию
+     */
+    static List<Long> toLock(Object index, Collection<Long> itemIds) {
+        Set<Long> locked = lockedItems(index);
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !locked.contains(itemId))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        locked.addAll(missing);
+        return missing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> lockedItems(Object index) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashSet<>();
+        }
+        Set<Long> locked = (Set<Long>) TransactionSynchronizationManager.getResource(index);
+        if (locked == null) {
+            Set<Long> transactionLocked = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(index, transactionLocked);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(index);
+                }
+            });
+            locked = transactionLocked;
+        }
+        return locked;
+    }
+}
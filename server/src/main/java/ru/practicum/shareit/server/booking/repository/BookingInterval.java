@@ -0,0 +1,16 @@
+package ru.practicum.shareit.server.booking.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования для индекса пересечений
+ */
+public interface BookingInterval {
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
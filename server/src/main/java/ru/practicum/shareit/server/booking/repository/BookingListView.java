@@ -0,0 +1,42 @@
+package ru.practicum.shareit.server.booking.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля бронирования, его арендатора и вещи, попадающие в ответ списка, без загрузки сущностей
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingListView {
+
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    Status status;
+
+    Long bookerId;
+
+    String bookerName;
+
+    String bookerEmail;
+
+    Long itemId;
+
+    String itemName;
+
+    String itemDescription;
+
+    Boolean itemAvailable;
+
+    Long itemRequestId;
+}
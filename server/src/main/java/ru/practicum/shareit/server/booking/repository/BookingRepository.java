@@ -2,6 +2,8 @@ package ru.practicum.shareit.server.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,47 +11,226 @@ import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * Условие продолжения ленты после курсора (start_time, id) при сортировке по убыванию
+     */
+    String AFTER_CURSOR = "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) ";
+
+    String FEED_ORDER = "order by b.start desc, b.id desc";
+
+    /**
+     * Выборка для списков бронирований: только поля ответа, сущности в контекст персистентности не попадают
+     */
+    String LIST_SELECT = "select new ru.practicum.shareit.server.booking.repository.BookingListView(" +
+            "b.id, b.start, b.end, b.status, bk.id, bk.name, bk.email, " +
+            "i.id, i.name, i.description, i.available, i.requestId) " +
+            "from Booking b " +
+            "join b.booker bk " +
+            "join b.item i ";
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     Page<Booking> findByBookerIdAndItemIdAndStatusIsAndStartIsBefore(long bookerId, long userId, Status status, LocalDateTime time, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
+    Optional<Booking> findByIdAndBookerId(long bookingId, long userId);
+
+    Optional<Booking> findByIdAndItemOwnerIdOrderByStartDesc(long bookingId, long ownerId);
+
+    @Query(LIST_SELECT +
+            "where b.booker.id = :bookerId " +
+            FEED_ORDER)
+    List<BookingListView> findBookerList(long bookerId, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(long bookerId, LocalDateTime currentTime, Pageable pageable);
+    @Query(LIST_SELECT +
+            "where b.booker.id = :bookerId " +
+            "and b.start > :currentTime " +
+            FEED_ORDER)
+    List<BookingListView> findBookerListFuture(long bookerId, LocalDateTime currentTime, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(long bookerId, LocalDateTime currentTime, Pageable pageable);
+    @Query(LIST_SELECT +
+            "where b.booker.id = :bookerId " +
+            "and b.end < :currentTime " +
+            FEED_ORDER)
+    List<BookingListView> findBookerListPast(long bookerId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("select b from Booking b " +
+    @Query(LIST_SELECT +
             "where b.booker.id = :bookerId " +
             "and b.start < :currentTime " +
             "and b.end > :currentTime " +
-            "order by b.start desc")
-    Page<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(long bookerId, LocalDateTime currentTime, Pageable pageable);
+            FEED_ORDER)
+    List<BookingListView> findBookerListCurrent(long bookerId, LocalDateTime currentTime, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStatusIs(long bookerId, Status status, Pageable pageable);
+    @Query(LIST_SELECT +
+            "where b.booker.id = :bookerId " +
+            "and b.status = :status " +
+            FEED_ORDER)
+    List<BookingListView> findBookerListByStatus(long bookerId, Status status, Pageable pageable);
+
+    @Query(LIST_SELECT +
+            "where i.owner.id = :ownerId " +
+            FEED_ORDER)
+    List<BookingListView> findOwnerList(long ownerId, Pageable pageable);
+
+    @Query(LIST_SELECT +
+            "where i.owner.id = :ownerId " +
+            "and b.start > :currentTime " +
+            FEED_ORDER)
+    List<BookingListView> findOwnerListFuture(long ownerId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(LIST_SELECT +
+            "where i.owner.id = :ownerId " +
+            "and b.end < :currentTime " +
+            FEED_ORDER)
+    List<BookingListView> findOwnerListPast(long ownerId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(LIST_SELECT +
+            "where i.owner.id = :ownerId " +
+            "and b.start < :currentTime " +
+            "and b.end > :currentTime " +
+            FEED_ORDER)
+    List<BookingListView> findOwnerListCurrent(long ownerId, LocalDateTime currentTime, Pageable pageable);
 
-    Optional<Booking> findByIdAndBookerId(long bookingId, long userId);
+    @Query(LIST_SELECT +
+            "where i.owner.id = :ownerId " +
+            "and b.status = :status " +
+            FEED_ORDER)
+    List<BookingListView> findOwnerListByStatus(long ownerId, Status status, Pageable pageable);
 
-    Optional<Booking> findByIdAndItemOwnerIdOrderByStartDesc(long bookingId, long ownerId);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Page<Booking> findAllByItemId(long itemId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(long ownerId, Pageable pageable);
+    /**
+     * Последнее и ближайшее подтверждённые бронирования для набора вещей за один запрос
+     */
+    @Query(value = "select w.item_id as itemId, w.id as bookingId, w.booker_id as bookerId, w.is_last as last " +
+            "from (select b.item_id, b.id, b.booker_id, true as is_last, " +
+            "row_number() over (partition by b.item_id order by b.start_time desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.status = 'APPROVED' " +
+            "and b.start_time < :currentTime " +
+            "union all " +
+            "select b.item_id, b.id, b.booker_id, false as is_last, " +
+            "row_number() over (partition by b.item_id order by b.start_time) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.status = 'APPROVED' " +
+            "and b.start_time > :currentTime) w " +
+            "where w.rn = 1",
+            nativeQuery = true)
+    List<ItemBookingView> findLastAndNextByItemIds(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findBookerFeed(long bookerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(long ownerId, LocalDateTime currentTime, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.start > :currentTime " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findBookerFeedFuture(long bookerId, LocalDateTime currentTime,
+                                        LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(long ownerId, LocalDateTime currentTime, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.end < :currentTime " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findBookerFeedPast(long bookerId, LocalDateTime currentTime,
+                                      LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("select b from Booking b " +
-            "where b.item.owner.id = :ownerId " +
+            "where b.booker.id = :bookerId " +
             "and b.start < :currentTime " +
             "and b.end > :currentTime " +
-            "order by b.start desc")
-    Page<Booking> findAllByOwnerIdCurrent(long ownerId, LocalDateTime currentTime, Pageable pageable);
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findBookerFeedCurrent(long bookerId, LocalDateTime currentTime,
+                                         LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStatusIs(long ownerId, Status status, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.status = :status " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findBookerFeedByStatus(long bookerId, Status status,
+                                          LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Page<Booking> findAllByItemId(long itemId, Pageable pageable);
-}
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findOwnerFeed(long ownerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.start > :currentTime " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findOwnerFeedFuture(long ownerId, LocalDateTime currentTime,
+                                       LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.end < :currentTime " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findOwnerFeedPast(long ownerId, LocalDateTime currentTime,
+                                     LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.start < :currentTime " +
+            "and b.end > :currentTime " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findOwnerFeedCurrent(long ownerId, LocalDateTime currentTime,
+                                        LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.status = :status " +
+            AFTER_CURSOR +
+            FEED_ORDER)
+    Slice<Booking> findOwnerFeedByStatus(long ownerId, Status status,
+                                         LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    /**
+     * Загрузка бронирований пакетного запроса вместе с вещами, их владельцами и арендаторами
+     */
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findAllByIdIn(Collection<Long> ids);
+
+    List<BookingInterval> findByItemIdAndStatus(long itemId, Status status);
+
+    List<BookingInterval> findByItemIdInAndStatus(Collection<Long> itemIds, Status status);
+
+    /**
+     * Проверка пересечения периода с подтверждёнными бронированиями вещи по GiST-индексу ограничения исключения
+     */
+    @Query(value = "select exists(select 1 from bookings b " +
+            "where b.item_id = :itemId " +
+            "and b.status = 'APPROVED' " +
+            "and tsrange(b.start_time, b.end_time) && tsrange(:start, :end))",
+            nativeQuery = true)
+    boolean existsApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end);
+}
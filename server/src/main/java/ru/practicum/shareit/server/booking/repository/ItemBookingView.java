@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.booking.repository;
+
+/**
+ * Последнее или ближайшее подтверждённое бронирование вещи
+ */
+public interface ItemBookingView {
+
+    Long getItemId();
+
+    Long getBookingId();
+
+    Long getBookerId();
+
+    Boolean getLast();
+}
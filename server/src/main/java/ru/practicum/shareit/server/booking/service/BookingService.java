@@ -1,18 +1,30 @@
 package ru.practicum.shareit.server.booking.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.BookingState;
 
 import java.util.List;
 
 public interface BookingService {
-    List<Booking> findAllByBookerId(long bookerId, BookingState stateParam, int from, int size);
+    List<BookingResponse> findAllByBookerId(long bookerId, BookingState stateParam, int from, int size);
 
-    List<Booking> findAllByOwnerId(long ownerId, BookingState stateParam, int from, int size);
+    List<BookingResponse> findAllByOwnerId(long ownerId, BookingState stateParam, int from, int size);
+
+    Slice<Booking> findFeedByBookerId(long bookerId, BookingState state, BookingCursor cursor, int size);
+
+    Slice<Booking> findFeedByOwnerId(long ownerId, BookingState state, BookingCursor cursor, int size);
 
     Booking findByUserIdAndId(long bookingId, long userId);
 
     Booking create(long userId, Booking booking);
 
     Booking approve(long userId, long bookingId, boolean available);
+
+    List<BookingBatchResult> createAll(long userId, List<Booking> bookings);
+
+    List<BookingBatchResult> approveAll(long userId, List<Long> bookingIds, boolean available);
 }
@@ -1,108 +1,355 @@
 package ru.practicum.shareit.server.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.dto.BookingMapper;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.BookingState;
 import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.overlap.BookingIntervalIndex;
+import ru.practicum.shareit.server.booking.repository.BookingListView;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.common.OptimisticLockRetry;
 import ru.practicum.shareit.server.common.exception.BadRequestException;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
 import ru.practicum.shareit.server.common.exception.NotAvailableException;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.common.exception.OwnerBookItemException;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.server.common.Constants.MAX_BATCH_SIZE;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    public static final String APPROVE_OPERATION = "booking.approve";
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
+    private final ItemResponseCache itemResponseCache;
+    private final BookingIntervalIndex intervalIndex;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final BookingMapper mapper;
+    private final ItemCommentLoader itemCommentLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<Booking> findAllByBookerId(long userId, BookingState state, int from, int size) {
-        getUserById(userId);
+    @Transactional(readOnly = true)
+    public List<BookingResponse> findAllByBookerId(long userId, BookingState state, int from, int size) {
+        userCache.getById(userId);
 
         LocalDateTime time = LocalDateTime.now();
 
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        Page<Booking> page;
+        List<BookingListView> views;
         switch (state) {
             case ALL:
-                page = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageRequest);
+                views = bookingRepository.findBookerList(userId, pageRequest);
                 break;
             case FUTURE:
-                page = bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(userId, time, pageRequest);
+                views = bookingRepository.findBookerListFuture(userId, time, pageRequest);
                 break;
             case PAST:
-                page = bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(userId, time, pageRequest);
+                views = bookingRepository.findBookerListPast(userId, time, pageRequest);
                 break;
             case CURRENT:
-                page = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, time, pageRequest);
+                views = bookingRepository.findBookerListCurrent(userId, time, pageRequest);
                 break;
             default:
                 Status status = Status.valueOf(state.name());
-                page = bookingRepository.findAllByBookerIdAndStatusIs(userId, status, pageRequest);
+                views = bookingRepository.findBookerListByStatus(userId, status, pageRequest);
                 break;
         }
-        return page.getContent();
+        return toResponses(views);
     }
 
     @Override
-    public List<Booking> findAllByOwnerId(long ownerId, BookingState state, int from, int size) {
-        getUserById(ownerId);
+    @Transactional(readOnly = true)
+    public List<BookingResponse> findAllByOwnerId(long ownerId, BookingState state, int from, int size) {
+        userCache.getById(ownerId);
 
         LocalDateTime time = LocalDateTime.now();
 
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        Page<Booking> page;
+        List<BookingListView> views;
+        switch (state) {
+            case ALL:
+                views = bookingRepository.findOwnerList(ownerId, pageRequest);
+                break;
+            case FUTURE:
+                views = bookingRepository.findOwnerListFuture(ownerId, time, pageRequest);
+                break;
+            case PAST:
+                views = bookingRepository.findOwnerListPast(ownerId, time, pageRequest);
+                break;
+            case CURRENT:
+                views = bookingRepository.findOwnerListCurrent(ownerId, time, pageRequest);
+                break;
+            default:
+                Status status = Status.valueOf(state.name());
+                views = bookingRepository.findOwnerListByStatus(ownerId, status, pageRequest);
+                break;
+        }
+        return toResponses(views);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Booking> findFeedByBookerId(long bookerId, BookingState state, BookingCursor cursor, int size) {
+        userCache.getById(bookerId);
+
+        LocalDateTime time = LocalDateTime.now();
+        LocalDateTime cursorStart = cursor.getStart();
+        long cursorId = cursor.getId();
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Booking> slice;
         switch (state) {
             case ALL:
-                page = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageRequest);
+                slice = bookingRepository.findBookerFeed(bookerId, cursorStart, cursorId, pageable);
                 break;
             case FUTURE:
-                page = bookingRepository.findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(ownerId, time, pageRequest);
+                slice = bookingRepository.findBookerFeedFuture(bookerId, time, cursorStart, cursorId, pageable);
                 break;
             case PAST:
-                page = bookingRepository.findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(ownerId, time, pageRequest);
+                slice = bookingRepository.findBookerFeedPast(bookerId, time, cursorStart, cursorId, pageable);
                 break;
             case CURRENT:
-                page = bookingRepository.findAllByOwnerIdCurrent(ownerId, time, pageRequest);
+                slice = bookingRepository.findBookerFeedCurrent(bookerId, time, cursorStart, cursorId, pageable);
                 break;
             default:
                 Status status = Status.valueOf(state.name());
-                page = bookingRepository.findAllByItemOwnerIdAndStatusIs(ownerId, status, pageRequest);
+                slice = bookingRepository.findBookerFeedByStatus(bookerId, status, cursorStart, cursorId, pageable);
                 break;
         }
-        return page.getContent();
+        initializeItems(slice.getContent());
+        return slice;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Booking> findFeedByOwnerId(long ownerId, BookingState state, BookingCursor cursor, int size) {
+        userCache.getById(ownerId);
+
+        LocalDateTime time = LocalDateTime.now();
+        LocalDateTime cursorStart = cursor.getStart();
+        long cursorId = cursor.getId();
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Booking> slice;
+        switch (state) {
+            case ALL:
+                slice = bookingRepository.findOwnerFeed(ownerId, cursorStart, cursorId, pageable);
+                break;
+            case FUTURE:
+                slice = bookingRepository.findOwnerFeedFuture(ownerId, time, cursorStart, cursorId, pageable);
+                break;
+            case PAST:
+                slice = bookingRepository.findOwnerFeedPast(ownerId, time, cursorStart, cursorId, pageable);
+                break;
+            case CURRENT:
+                slice = bookingRepository.findOwnerFeedCurrent(ownerId, time, cursorStart, cursorId, pageable);
+                break;
+            default:
+                Status status = Status.valueOf(state.name());
+                slice = bookingRepository.findOwnerFeedByStatus(ownerId, status, cursorStart, cursorId, pageable);
+                break;
+        }
+        initializeItems(slice.getContent());
+        return slice;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Booking findByUserIdAndId(long bookingId, long userId) {
-        getUserById(userId);
+        userCache.getById(userId);
 
-        return bookingRepository.findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId)
+        Booking booking = bookingRepository.findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId)
                 .orElseGet(() -> bookingRepository.findByIdAndBookerId(bookingId, userId)
                         .orElseThrow(() -> new NotFoundException("Для пользователя с id=" + bookingId + " не найден бронь с id=" + bookingId)));
+        initializeItems(List.of(booking));
+        return booking;
     }
 
     @Override
+    @Transactional
     public Booking create(long bookerId, Booking booking) {
 
-        User booker = getUserById(bookerId);
+        User booker = userCache.getById(bookerId);
 
         long itemId = booking.getItem().getId();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найден!"));
 
+        prepareBooking(booking, item, booker);
+        Booking createdBooking = bookingRepository.save(booking);
+        Hibernate.initialize(item.getComments());
+        itemResponseCache.evict(itemId);
+        eventPublisher.publishEvent(Notification.bookingCreated(createdBooking));
+        return createdBooking;
+    }
+
+    /**
+     * Без транзакции метода: каждую попытку в своей транзакции выполняет {@link OptimisticLockRetry}
+     */
+    @Override
+    public Booking approve(long ownerId, long bookingId, boolean approved) {
+        User owner = userCache.getById(ownerId);
+
+        Booking approvedBooking = optimisticLockRetry.execute(APPROVE_OPERATION, () -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new NotFoundException("Бронирование с id=" + bookingId + " не найден!"));
+
+            changeStatus(booking, owner, approved);
+            Booking savedBooking = bookingRepository.save(booking);
+            initializeItems(List.of(savedBooking));
+            return savedBooking;
+        });
+        itemResponseCache.evict(approvedBooking.getItem().getId());
+        eventPublisher.publishEvent(Notification.bookingStatusChanged(approvedBooking));
+        return approvedBooking;
+    }
+
+    /**
+     * Пакетное создание бронирований: вещи загружаются одним запросом, записи сохраняются в одной транзакции.
+     * Ошибка в одной записи не отменяет остальные, а возвращается в её результате.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createAll(long bookerId, List<Booking> bookings) {
+        checkBatchSize(bookings.size());
+        User booker = userCache.getById(bookerId);
+
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Item> itemsById = itemRepository.findAllByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        intervalIndex.preload(itemsById.keySet());
+
+        List<BookingBatchResult> results = new ArrayList<>(bookings.size());
+        List<Booking> accepted = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            long itemId = booking.getItem().getId();
+            Item item = itemsById.get(itemId);
+            try {
+                if (item == null) {
+                    throw new NotFoundException("Вещь с id=" + itemId + " не найден!");
+                }
+                prepareBooking(booking, item, booker);
+                accepted.add(booking);
+                results.add(BookingBatchResult.success(booking));
+            } catch (NotFoundException | OwnerBookItemException | NotAvailableException | BookingOverlapException e) {
+                results.add(BookingBatchResult.failure(e.getMessage()));
+            }
+        }
+
+        bookingRepository.saveAll(accepted);
+        initializeItems(accepted);
+        accepted.forEach(booking -> {
+            itemResponseCache.evict(booking.getItem().getId());
+            eventPublisher.publishEvent(Notification.bookingCreated(booking));
+        });
+        return results;
+    }
+
+    /**
+     * Пакетное подтверждение или отклонение бронирований: бронирования загружаются одним запросом,
+     * изменения статусов записываются пакетом при завершении транзакции.
+     * Ошибка в одной записи не отменяет остальные, а возвращается в её результате. Вещи подтверждаемых бронирований
+     * блокируются до конца транзакции, поэтому пересечение с одновременным подтверждением тоже становится отказом
+     * записи, а не откатом всего пакета при фиксации.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResult> approveAll(long ownerId, List<Long> bookingIds, boolean approved) {
+        checkBatchSize(bookingIds.size());
+        User owner = userCache.getById(ownerId);
+
+        Map<Long, Booking> bookingsById = bookingRepository.findAllByIdIn(new HashSet<>(bookingIds)).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        if (approved) {
+            intervalIndex.lockForApproval(bookingsById.values().stream()
+                    .map(booking -> booking.getItem().getId())
+                    .collect(Collectors.toSet()));
+        }
+
+        List<BookingBatchResult> results = new ArrayList<>(bookingIds.size());
+        List<Booking> changed = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookingsById.get(bookingId);
+            try {
+                if (booking == null) {
+                    throw new NotFoundException("Бронирование с id=" + bookingId + " не найден!");
+                }
+                changeStatus(booking, owner, approved);
+                changed.add(booking);
+                results.add(BookingBatchResult.success(booking));
+            } catch (NotFoundException | BadRequestException | BookingOverlapException e) {
+                results.add(BookingBatchResult.failure(e.getMessage()));
+            }
+        }
+
+        bookingRepository.saveAll(changed);
+        initializeItems(changed);
+        changed.forEach(booking -> {
+            itemResponseCache.evict(booking.getItem().getId());
+            eventPublisher.publishEvent(Notification.bookingStatusChanged(booking));
+        });
+        return results;
+    }
+
+    /**
+     * Тот же предел, что проверяет шлюз: сервер не полагается на то, что запрос прошёл через шлюз
+     */
+    private static void checkBatchSize(int size) {
+        if (size == 0 || size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("В пакете должно быть от 1 до " + MAX_BATCH_SIZE + " записей");
+        }
+    }
+
+    /**
+     * Загрузка комментариев вещей до конца транзакции: ответ с бронированием включает вещь с комментариями,
+     * а сессия после выхода из сервиса закрыта. Коллекции подгружаются пачками по @BatchSize.
+     */
+    private static List<Booking> initializeItems(List<Booking> bookings) {
+        bookings.forEach(booking -> Hibernate.initialize(booking.getItem().getComments()));
+        return bookings;
+    }
+
+    /**
+     * Сборка ответов списка из проекций: комментарии вещей догружаются одним запросом для всей страницы
+     */
+    private List<BookingResponse> toResponses(List<BookingListView> views) {
+        List<BookingResponse> bookings = mapper.mapToResponse(views);
+        itemCommentLoader.fill(bookings.stream()
+                .map(BookingResponse::getItem)
+                .collect(Collectors.toList()));
+        return bookings;
+    }
+
+    private void prepareBooking(Booking booking, Item item, User booker) {
         if (item.getOwner().equals(booker)) {
             throw new OwnerBookItemException("Владелец вещи не может бронировать вещи");
         }
@@ -111,35 +358,29 @@ public class BookingServiceImpl implements BookingService {
             throw new NotAvailableException("Вещь не доступен для бронирования");
         }
 
+        if (intervalIndex.overlaps(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingOverlapException("Вещь уже забронирована на указанный период");
+        }
+
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(Status.WAITING);
-        return bookingRepository.save(booking);
     }
 
-    @Override
-    public Booking approve(long ownerId, long bookingId, boolean approved) {
-        User owner = getUserById(ownerId);
-
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Бронирование с id=" + bookingId + " не найден!"));
-
+    private void changeStatus(Booking booking, User owner, boolean approved) {
         if (booking.getStatus() != Status.WAITING) {
             throw new BadRequestException("Статус можно менять только если WAITING");
         }
 
         Item item = booking.getItem();
         if (!item.getOwner().equals(owner)) {
-            throw new NotFoundException("Пользователь с id=" + ownerId + " не является владельцем вещи с id=" + item.getId() + "!");
+            throw new NotFoundException("Пользователь с id=" + owner.getId() + " не является владельцем вещи с id=" + item.getId() + "!");
         }
 
-        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-
-        return bookingRepository.save(booking);
-    }
+        if (approved) {
+            intervalIndex.reserve(booking);
+        }
 
-    private User getUserById(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден!"));
+        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
     }
 }
@@ -8,6 +8,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -17,4 +18,11 @@ public class AbstractEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    /**
+     * Версия строки для оптимистической блокировки, в сравнение сущностей не входит
+     */
+    @Version
+    @EqualsAndHashCode.Exclude
+    private long version;
 }
@@ -9,4 +9,5 @@ public class Constants {
     public static final String DEFAULT_SIZE = "50";
     public static final int DEFAULT_FROM_NUMBER = 0;
     public static final int DEFAULT_SIZE_NUMBER = 50;
+    public static final int MAX_BATCH_SIZE = 100;
 }
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.server.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.server.common.exception.ConflictException;
+
+import java.util.function.Supplier;
+
+/**
+ * Повтор операций чтение-проверка-запись при конфликте версий.
+ * Каждая попытка выполняется в своей транзакции и заново читает сущности; после исчерпания попыток
+ * выбрасывается {@link ConflictException}. Конфликты считаются в метрике shareit.optimistic.conflicts,
+ * исчерпанные попытки — в shareit.optimistic.failures, обе с тегом operation.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+    public static final String CONFLICTS_METRIC = "shareit.optimistic.conflicts";
+    public static final String FAILURES_METRIC = "shareit.optimistic.failures";
+
+    private final TransactionOperations transactionOperations;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+
+    public OptimisticLockRetry(
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${shareit.optimistic-lock.max-attempts:3}") int maxAttempts
+    ) {
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Выполнение операции с повтором при конфликте версий
+     *
+     * @param operation имя операции для метрик
+     * @param action    операция, читающая и изменяющая сущности
+     * @return результат операции
+     * @throws ConflictException если все попытки завершились конфликтом
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter(CONFLICTS_METRIC, operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter(FAILURES_METRIC, operation).increment();
+                    throw new ConflictException("Данные изменены другим запросом, повторите операцию", e);
+                }
+                log.debug("Конфликт версий в операции {}, попытка {} из {}", operation, attempt, maxAttempts);
+            }
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
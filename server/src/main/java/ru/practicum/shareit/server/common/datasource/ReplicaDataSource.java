@@ -0,0 +1,61 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Реплика базы данных и её последнее измеренное отставание
+ */
+public class ReplicaDataSource {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile double lagSeconds;
+    private volatile boolean available = true;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Реплика доступна для чтения, пока её отставание не превышает maxLag
+     *
+     * @return true, если доступность реплики изменилась
+     */
+    public boolean lagMeasured(double lagSeconds, Duration maxLag) {
+        this.lagSeconds = lagSeconds;
+        return setAvailable(lagSeconds * 1000 <= maxLag.toMillis());
+    }
+
+    /**
+     * Отставание не удалось измерить, реплика исключается из чтения
+     *
+     * @return true, если доступность реплики изменилась
+     */
+    public boolean lagUnknown() {
+        this.lagSeconds = Double.NaN;
+        return setAvailable(false);
+    }
+
+    private boolean setAvailable(boolean available) {
+        boolean changed = this.available != available;
+        this.available = available;
+        return changed;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодическое измерение отставания реплик. Отставание публикуется в метрике shareit.datasource.replica.lag
+ * с тегом replica; реплика, отстающая больше maxLag или не ответившая, исключается из чтения до следующей проверки.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    public static final String LAG_METRIC = "shareit.datasource.replica.lag";
+
+    private final List<ReplicaDataSource> replicas;
+    private final ReplicaRoutingProperties properties;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaLagMonitor(List<ReplicaDataSource> replicas, ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.properties = properties;
+        replicas.forEach(replica -> Gauge.builder(LAG_METRIC, replica, ReplicaDataSource::getLagSeconds)
+                .tag("replica", replica.getName())
+                .baseUnit("seconds")
+                .register(meterRegistry));
+    }
+
+    public void start() {
+        long interval = properties.getLagCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::checkAll, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    void checkAll() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(ReplicaDataSource replica) {
+        Duration maxLag = properties.getMaxLag();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+            jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.getLagCheckInterval().toSeconds()));
+            Double lag = jdbcTemplate.queryForObject(properties.getLagQuery(), Double.class);
+            if (replica.lagMeasured(lag != null ? lag : 0, maxLag)) {
+                if (replica.isAvailable()) {
+                    log.info("Реплика {} снова используется для чтения, отставание {} с", replica.getName(), lag);
+                } else {
+                    log.warn("Реплика {} отстаёт на {} с (допустимо {}) и исключена из чтения",
+                            replica.getName(), lag, maxLag);
+                }
+            }
+        } catch (DataAccessException e) {
+            if (replica.lagUnknown()) {
+                log.warn("Реплика {} недоступна и исключена из чтения: {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Маршрутизация соединений между основной базой (spring.datasource.*) и репликами
+ * (shareit.datasource.routing.replicas[*]), включается свойством shareit.datasource.routing.enabled=true.
+ * Пулы создаются с общими настройками spring.datasource.hikari.*, метрики пулов публикуются
+ * как hikaricp.connections.* с тегом pool: primary, replica-0, replica-1...
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(name = "shareit.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            ReplicaRoutingProperties routingProperties,
+            DataSourceProperties dataSourceProperties,
+            Environment environment
+    ) {
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            String name = "replica-" + i;
+
+            HikariDataSource dataSource = pool(name, dataSourceProperties, environment);
+            dataSource.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                dataSource.setUsername(replica.getUsername());
+            }
+            if (replica.getPassword() != null) {
+                dataSource.setPassword(replica.getPassword());
+            }
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaDataSource(name, dataSource));
+        }
+        log.info("Read-only транзакции направляются на реплики: {}", replicas.size());
+
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, dataSourceProperties, environment);
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Пулы не являются бинами, поэтому метрики hikaricp.* подключаются к ним отдельно,
+     * до первого соединения: после запуска пула Hikari не позволяет сменить трекер метрик
+     */
+    @Bean
+    public MeterBinder replicaRoutingPoolMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> replicaRoutingDataSource.getResolvedDataSources().values().stream()
+                .map(HikariDataSource.class::cast)
+                .filter(pool -> pool.getMetricsTrackerFactory() == null && pool.getHikariPoolMXBean() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            ReplicaRoutingProperties routingProperties,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource.getReplicas(), routingProperties, meterRegistry);
+    }
+
+    private static HikariDataSource pool(
+            String name,
+            DataSourceProperties dataSourceProperties,
+            Environment environment
+    ) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
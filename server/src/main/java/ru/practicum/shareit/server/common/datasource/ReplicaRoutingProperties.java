@@ -0,0 +1,56 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки направления read-only транзакций на реплики базы данных
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    boolean enabled = false;
+
+    List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Реплика с большим отставанием исключается из чтения, пока не догонит основную базу
+     */
+    Duration maxLag = Duration.ofSeconds(5);
+
+    Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Запрос, возвращающий отставание реплики в секундах
+     */
+    String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Replica {
+
+        String url;
+
+        /**
+         * По умолчанию spring.datasource.username
+         */
+        String username;
+
+        /**
+         * По умолчанию spring.datasource.password
+         */
+        String password;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.common.dto;
 
 import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.server.common.AbstractEntity;
@@ -25,5 +26,6 @@ public interface AbstractMapper<T extends AbstractEntity, S, U, V> {
     T mapFromUpdateRequestDto(V entityUpdateRequestDto);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
     void merge(@MappingTarget T entity, T sourceEntity);
 }
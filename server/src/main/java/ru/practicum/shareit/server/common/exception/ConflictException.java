@@ -0,0 +1,7 @@
+package ru.practicum.shareit.server.common.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.server.common.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -35,6 +36,20 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(e.getMessage(), e.getCause());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler({ConflictException.class, OptimisticLockingFailureException.class})
+    public ErrorResponse handleConflict(RuntimeException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse(e.getMessage(), e.getCause());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public ErrorResponse handleBookingOverlap(BookingOverlapException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse(e.getMessage(), e.getCause());
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler
     public ErrorResponse handleOwnerBookItem(OwnerBookItemException e) {
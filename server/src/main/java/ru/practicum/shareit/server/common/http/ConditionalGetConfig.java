@@ -0,0 +1,43 @@
+package ru.practicum.shareit.server.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Условные GET-запросы для чтения вещей, бронирований и запросов: ответ получает ETag — хеш тела,
+ * и при совпадении с If-None-Match клиенту отправляется 304 без тела.
+ * Используется сервером и шлюзом: шлюз передаёт If-None-Match серверу и отвечает 304 сам,
+ * если совпал ETag из ответа сервера.
+ */
+@Configuration
+public class ConditionalGetConfig {
+    static final String[] URL_PATTERNS = {"/items/*", "/bookings/*", "/requests/*"};
+
+    @Bean
+    public FilterRegistrationBean<ConditionalGetMetricsFilter> conditionalGetMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConditionalGetMetricsFilter> registration =
+                new FilterRegistrationBean<>(new ConditionalGetMetricsFilter(meterRegistry));
+        registration.addUrlPatterns(URL_PATTERNS);
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /**
+     * ETag вычисляется по телу, а не по версиям сущностей: ответы собираются из нескольких сущностей
+     * (вещь с бронированиями и комментариями, запрос с вещами), и версия одной из них не отражает изменений остальных.
+     * ETag слабый: Tomcat не сжимает ответы со строгим ETag (noCompressionStrongETag)
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(URL_PATTERNS);
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.server.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Учёт условных GET-запросов в метрике shareit.http.conditional: тег result=hit, если клиент получил 304,
+ * и result=miss, если ETag не совпал. Асинхронные ответы шлюза учитываются при завершении обработки.
+ */
+public class ConditionalGetMetricsFilter extends OncePerRequestFilter {
+    public static final String CONDITIONAL_METRIC = "shareit.http.conditional";
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalGetMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || request.getHeader(HttpHeaders.IF_NONE_MATCH) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        boolean hit = response.getStatus() == HttpStatus.NOT_MODIFIED.value();
+        meterRegistry.counter(CONDITIONAL_METRIC, "result", hit ? "hit" : "miss").increment();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.common.http;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Ответы в Smile для шлюза, запросившего их заголовком Accept.
+ * Конвертер по умолчанию Spring MVC не учитывает настройки spring.jackson.*, поэтому заменяется
+ * конвертером на основе настроенного Spring Boot построителя: даты в Smile и JSON совпадают.
+ */
+@Configuration
+public class SmileConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
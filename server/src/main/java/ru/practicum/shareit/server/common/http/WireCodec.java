@@ -0,0 +1,59 @@
+package ru.practicum.shareit.server.common.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Преобразования тела ответа на участке от сервера до шлюза: сжатие gzip и перекодирование Smile в JSON.
+ * Используется шлюзом и бенчмарками форматов.
+ */
+public final class WireCodec {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private WireCodec() {
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сжать тело ответа", e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] gunzip(byte[] body) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось распаковать тело ответа сервера", e);
+        }
+    }
+
+    /**
+     * Перекодирование потоком токенов, без построения дерева и привязки к классам ответов
+     */
+    public static byte[] smileToJson(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось перекодировать ответ сервера из Smile в JSON", e);
+        }
+        return out.toByteArray();
+    }
+}
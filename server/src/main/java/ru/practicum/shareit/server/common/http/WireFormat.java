@@ -0,0 +1,24 @@
+package ru.practicum.shareit.server.common.http;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Формат ответов сервера на участке от сервера до шлюза
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    /**
+     * Бинарный JSON (Smile): компактнее текстового, но шлюз перекодирует его в JSON для клиентов
+     */
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.item.dto.*;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
 import ru.practicum.shareit.server.item.service.ItemService;
 
 import java.util.List;
@@ -22,6 +23,8 @@ public class ItemController {
 
     private final CommentMapper commentMapper;
 
+    private final ItemResponseCache itemResponseCache;
+
     /**
      * Получение списка вещей по id пользователя
      *
@@ -35,7 +38,7 @@ public class ItemController {
             @RequestParam(defaultValue = DEFAULT_SIZE) int size
     ) {
         log.info("Получение списка вещей пользователя с id {}", userId);
-        return itemMapper.mapToResponseEntity(service.findAllByUserId(userId, from, size));
+        return service.findAllByUserId(userId, from, size);
     }
 
     /**
@@ -50,7 +53,7 @@ public class ItemController {
             @PathVariable long itemId
     ) {
         log.info("Получение вещи по идентификатору {}", itemId);
-        return itemMapper.mapToResponseEntity(service.findById(itemId), userId);
+        return itemResponseCache.get(itemId, userId, service::findById);
     }
 
     /**
@@ -95,7 +98,8 @@ public class ItemController {
      * Поиск доступных вещей по наименованию или по описанию
      *
      * @param text название вещи
-     * @return список найденных доступных вещей
+     * @return список найденных доступных вещей без последнего и ближайшего бронирования:
+     * эти поля видит только владелец вещи в её карточке и в списке своих вещей
      */
     @GetMapping("/search")
     public List<ItemResponse> findAllByName(
@@ -104,7 +108,7 @@ public class ItemController {
             @RequestParam(defaultValue = DEFAULT_SIZE) int size
     ) {
         log.info("Получение списка вещей по названию {}", text);
-        return itemMapper.mapToResponseEntity(service.findAllByName(text, from, size));
+        return itemMapper.mapToPublicResponseEntity(service.findAllByName(text, from, size));
     }
 
 
@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.server.common.dto.AbstractMapper;
 import ru.practicum.shareit.server.item.model.Comment;
+import ru.practicum.shareit.server.item.repository.CommentView;
 
 @Mapper(componentModel = "spring")
 public interface CommentMapper extends AbstractMapper<Comment, CommentResponse, CommentCreateRequest, Void> {
@@ -12,4 +13,6 @@ public interface CommentMapper extends AbstractMapper<Comment, CommentResponse,
             expression = "java(entity.getAuthor().getName())")
     @Mapping(target = "created", source = "entity.createdAt")
     CommentResponse mapToResponseEntity(Comment entity);
+
+    CommentResponse mapToResponse(CommentView view);
 }
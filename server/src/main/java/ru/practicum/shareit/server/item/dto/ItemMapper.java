@@ -1,12 +1,18 @@
 package ru.practicum.shareit.server.item.dto;
 
 import org.mapstruct.Context;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.repository.ItemBookingView;
 import ru.practicum.shareit.server.common.dto.AbstractMapper;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemListView;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ItemMapper extends AbstractMapper<Item, ItemResponse, ItemCreateRequest, ItemUpdateRequest> {
@@ -17,9 +23,30 @@ public interface ItemMapper extends AbstractMapper<Item, ItemResponse, ItemCreat
             expression = "java(entity.getOwner().getId().equals(userId) ? mapToBookingView(entity.getLastBooking()) : null)")
     ItemResponse mapToResponseEntity(Item entity, @Context long userId);
 
+    /**
+     * Представление вещи для пользователя, не являющегося владельцем: без последнего и ближайшего бронирования
+     */
+    @Named("public")
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "lastBooking", ignore = true)
+    ItemResponse mapToPublicResponseEntity(Item entity);
+
+    @IterableMapping(qualifiedByName = "public")
+    List<ItemResponse> mapToPublicResponseEntity(List<Item> entities);
+
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    ItemResponse mapToResponse(ItemListView view);
+
+    List<ItemResponse> mapToResponse(List<ItemListView> views);
+
     @Mapping(source = "booker.id", target = "bookerId")
     ItemResponse.BookingView mapToBookingView(Booking booking);
 
+    @Mapping(source = "bookingId", target = "id")
+    ItemResponse.BookingView mapToBookingView(ItemBookingView view);
+
     @Mapping(source = "author.name", target = "authorName")
     @Mapping(target = "created", source = "comment.createdAt")
     CommentResponse mapToResponseEntity(Comment comment);
@@ -2,7 +2,7 @@ package ru.practicum.shareit.server.item.model;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
-import org.hibernate.annotations.JoinFormula;
+import org.hibernate.annotations.BatchSize;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.common.AbstractEntity;
 import ru.practicum.shareit.server.user.model.User;
@@ -29,24 +29,24 @@ public class Item extends AbstractEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     User owner;
 
+    /**
+     * Комментарии догружаются пачками по вещам страницы, а не отдельным запросом на каждую вещь
+     */
     @OneToMany(mappedBy = "item")
+    @BatchSize(size = 50)
     Set<Comment> comments;
 
-    @ManyToOne
-    @JoinFormula(
-            "(select b.id from bookings b " +
-                    "where b.item_id = id " +
-                    "and b.start_time < localtimestamp(6) " +
-                    "and b.status = 'APPROVED' " +
-                    "order by b.start_time desc limit 1)")
+    /**
+     * Последнее подтверждённое бронирование, заполняется сервисом пачкой для страницы вещей.
+     * Заполняется только для представлений владельца: карточки вещи и списка его вещей
+     */
+    @Transient
     Booking lastBooking;
 
-    @ManyToOne
-    @JoinFormula(
-            "(select b.id from bookings b " +
-                    "where b.item_id = id " +
-                    "and b.start_time > localtimestamp(6) " +
-                    "and b.status = 'APPROVED' " +
-                    "order by b.start_time limit 1)")
+    /**
+     * Ближайшее подтверждённое бронирование, заполняется сервисом пачкой для страницы вещей.
+     * Заполняется только для представлений владельца: карточки вещи и списка его вещей
+     */
+    @Transient
     Booking nextBooking;
 }
@@ -1,7 +1,22 @@
 package ru.practicum.shareit.server.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Комментарии набора вещей с именами авторов за один запрос
+     */
+    @Query("select new ru.practicum.shareit.server.item.repository.CommentView(" +
+            "c.id, c.item.id, c.text, a.name, c.createdAt) " +
+            "from Comment c " +
+            "join c.author a " +
+            "where c.item.id in :itemIds " +
+            "order by c.id")
+    List<CommentView> findViewsByItemIdIn(Collection<Long> itemIds);
 }
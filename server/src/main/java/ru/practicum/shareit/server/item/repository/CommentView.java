@@ -0,0 +1,27 @@
+package ru.practicum.shareit.server.item.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий вещи с именем автора, без загрузки сущностей комментария, автора и вещи
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CommentView {
+
+    Long id;
+
+    Long itemId;
+
+    String text;
+
+    String authorName;
+
+    LocalDateTime created;
+}
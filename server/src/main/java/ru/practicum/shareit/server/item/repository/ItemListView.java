@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.item.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Поля вещи, попадающие в ответ списка, без загрузки сущности
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemListView {
+
+    Long id;
+
+    String name;
+
+    String description;
+
+    Boolean available;
+
+    Long requestId;
+}
@@ -1,25 +1,68 @@
 package ru.practicum.shareit.server.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
+    /**
+     * Страница вещей владельца: выбираются только поля ответа, сущности в контекст персистентности не попадают
+     */
+    @Query("select new ru.practicum.shareit.server.item.repository.ItemListView(" +
+            "i.id, i.name, i.description, i.available, i.requestId) " +
+            "from Item i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id")
+    List<ItemListView> findViewsByOwnerId(long ownerId, Pageable pageable);
 
-    @Query(value = "select i from Item i " +
-            "where length(:text) > 0 " +
-            "and (lower(i.name) like concat('%', lower(:text), '%') " +
-            "or lower(i.description) like concat('%', lower(:text), '%')) " +
-            "and i.available = true")
-    Page<Item> findAllByNameContainingIgnoreCase(String text, Pageable pageable);
+    /**
+     * Вещи, предложенные в ответ на страницу запросов, одним запросом для всех запросов страницы
+     */
+    @Query("select new ru.practicum.shareit.server.item.repository.ItemListView(" +
+            "i.id, i.name, i.description, i.available, i.requestId) " +
+            "from Item i " +
+            "where i.requestId in :requestIds " +
+            "order by i.id")
+    List<ItemListView> findViewsByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Поиск доступных вещей по подстроке с опорой на триграммные индексы PostgreSQL.
+     * pattern — шаблон ilike, в котором символы \, % и _ из текста экранированы обратной косой чертой.
+     * Релевантность — триграммная близость текста к словам названия и описания (word_similarity),
+     * совпадение в названии весит вдвое больше, как в {@link ru.practicum.shareit.server.item.search.InMemoryItemSearchEngine}
+     */
+    @Query(value = "select i.id from items i " +
+            "where i.available = true " +
+            "and (i.name ilike :pattern escape '\\' " +
+            "or i.description ilike :pattern escape '\\') " +
+            "order by 2 * word_similarity(:text, i.name) + word_similarity(:text, i.description) desc, i.id",
+            nativeQuery = true)
+    List<Long> searchAvailableIds(String text, String pattern, Pageable pageable);
 
     Optional<Item> findByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Загрузка вещей пакетного запроса вместе с владельцами
+     */
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Блокировка строк вещей до конца транзакции (select ... for update) в порядке идентификаторов:
+     * подтверждения бронирований одной вещи выполняются по очереди на всех экземплярах сервера
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :itemIds order by i.id")
+    List<Item> lockAllByIdIn(Collection<Long> itemIds);
 }
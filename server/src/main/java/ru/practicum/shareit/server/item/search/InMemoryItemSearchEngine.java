@@ -0,0 +1,159 @@
+package ru.practicum.shareit.server.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.common.AfterCommit;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Инвертированный триграммный индекс в памяти для H2 и тестовых профилей
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> items = itemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс вещей построен, документов: {}", items.size());
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String query = normalize(text);
+
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(documents::get)
+                    .filter(document -> document.available && document.score(query) > 0)
+                    .sorted(Comparator.comparingInt((Document document) -> document.score(query)).reversed()
+                            .thenComparingLong(document -> document.id))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(document -> document.id)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Индекс обновляется только после фиксации транзакции: при откате в нём не остаётся несуществующих вещей
+     */
+    @Override
+    public void index(Item item) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                put(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return documents.keySet();
+        }
+
+        Set<Long> result = null;
+        for (String gram : gramsOf(query)) {
+            Set<Long> ids = postings.getOrDefault(gram, Set.of());
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void put(Item item) {
+        Document previous = documents.remove(item.getId());
+        if (previous != null) {
+            for (String gram : previous.grams()) {
+                Set<Long> ids = postings.get(gram);
+                ids.remove(previous.id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        Document document = new Document(item.getId(), normalize(item.getName()),
+                normalize(item.getDescription()), Boolean.TRUE.equals(item.getAvailable()));
+        documents.put(document.id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> gramsOf(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    @RequiredArgsConstructor
+    private static class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        Set<String> grams() {
+            Set<String> grams = gramsOf(name);
+            grams.addAll(gramsOf(description));
+            return grams;
+        }
+
+        int score(String query) {
+            return (name.contains(query) ? NAME_WEIGHT : 0) + (description.contains(query) ? DESCRIPTION_WEIGHT : 0);
+        }
+    }
+}
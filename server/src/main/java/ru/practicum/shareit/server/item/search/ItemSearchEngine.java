@@ -0,0 +1,28 @@
+package ru.practicum.shareit.server.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.server.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Поиск идентификаторов доступных вещей, упорядоченных по релевантности
+     *
+     * @param text     искомая подстрока
+     * @param pageable страница результата
+     * @return идентификаторы найденных вещей
+     */
+    List<Long> search(String text, Pageable pageable);
+
+    /**
+     * Обновление поискового индекса после создания или изменения вещи
+     *
+     * @param item сохранённая вещь
+     */
+    void index(Item item);
+}
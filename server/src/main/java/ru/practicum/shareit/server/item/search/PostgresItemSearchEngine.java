@@ -0,0 +1,41 @@
+package ru.practicum.shareit.server.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск средствами PostgreSQL: триграммные индексы для подстроки и word_similarity для релевантности.
+ * Символы шаблона like в тексте экранируются и ищутся буквально, как в {@link InMemoryItemSearchEngine}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return itemRepository.searchAvailableIds(text, "%" + escapeLike(text) + "%", pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+        // индексы поддерживаются самой базой данных
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.server.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.item.dto.CommentMapper;
+import ru.practicum.shareit.server.item.dto.CommentResponse;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.CommentView;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Заполнение комментариев в ответах списков вещей одним запросом для всей страницы.
+ * Одна вещь может встречаться в странице несколько раз, например в списке бронирований.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemCommentLoader {
+
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
+
+    public void fill(Collection<ItemResponse> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Set<CommentResponse>> commentsByItemId = items.stream()
+                .collect(Collectors.toMap(ItemResponse::getId, item -> new LinkedHashSet<>(), (a, b) -> a));
+
+        for (CommentView view : commentRepository.findViewsByItemIdIn(commentsByItemId.keySet())) {
+            commentsByItemId.get(view.getItemId()).add(commentMapper.mapToResponse(view));
+        }
+
+        items.forEach(item -> item.setComments(commentsByItemId.get(item.getId())));
+    }
+}
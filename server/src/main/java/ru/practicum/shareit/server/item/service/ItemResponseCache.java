@@ -0,0 +1,89 @@
+package ru.practicum.shareit.server.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.common.AfterCommit;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.model.Item;
+
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * Кэш собранных ответов GET /items/{itemId}.
+ * Для каждой вещи хранятся два представления: для владельца (с последним и ближайшим бронированием)
+ * и для остальных пользователей. Запись сбрасывается при изменении вещи, добавлении комментария,
+ * создании и подтверждении бронирования, а также по истечении времени жизни.
+ * Кэш у каждого экземпляра сервера свой: изменения, сделанные на другом экземпляре, видны после истечения
+ * времени жизни записи (shareit.cache.items.expire-after-write).
+ * Статистика публикуется в метриках cache.* с тегом cache=items.
+ */
+@Component
+public class ItemResponseCache {
+    public static final String NAME = "items";
+
+    private final ItemMapper mapper;
+
+    private final Cache<Long, Entry> cache;
+
+    public ItemResponseCache(
+            ItemMapper mapper,
+            MeterRegistry meterRegistry,
+            @Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+            @Value("${shareit.cache.items.expire-after-write:PT1M}") Duration expireAfterWrite
+    ) {
+        this.mapper = mapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Получение представления вещи для пользователя
+     *
+     * @param itemId идентификатор вещи
+     * @param userId идентификатор пользователя, запрашивающего вещь
+     * @param loader загрузка вещи с заполненными бронированиями при промахе
+     * @return представление вещи для владельца или для остальных пользователей
+     */
+    public ItemResponse get(long itemId, long userId, LongFunction<Item> loader) {
+        Entry entry = cache.get(itemId, id -> toEntry(loader.apply(id)));
+        return entry.ownerId == userId ? entry.ownerView : entry.publicView;
+    }
+
+    /**
+     * Сброс записи после фиксации текущей транзакции: при сбросе до фиксации параллельный запрос успел бы
+     * закэшировать прежнее состояние вещи на всё время жизни записи
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void evict(long itemId) {
+        AfterCommit.run(() -> cache.invalidate(itemId));
+    }
+
+    private Entry toEntry(Item item) {
+        long ownerId = item.getOwner().getId();
+        return new Entry(ownerId, mapper.mapToResponseEntity(item, ownerId), mapper.mapToPublicResponseEntity(item));
+    }
+
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Entry {
+        long ownerId;
+
+        ItemResponse ownerView;
+
+        ItemResponse publicView;
+    }
+}
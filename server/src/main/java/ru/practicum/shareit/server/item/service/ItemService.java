@@ -1,12 +1,13 @@
 package ru.practicum.shareit.server.item.service;
 
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 
 import java.util.List;
 
 public interface ItemService {
-    List<Item> findAllByUserId(long userId, int from, int size);
+    List<ItemResponse> findAllByUserId(long userId, int from, int size);
 
     Item create(long userId, Item item);
 
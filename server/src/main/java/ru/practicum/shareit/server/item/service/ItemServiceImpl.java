@@ -1,74 +1,139 @@
 package ru.practicum.shareit.server.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.repository.ItemBookingView;
+import ru.practicum.shareit.server.common.OptimisticLockRetry;
 import ru.practicum.shareit.server.common.exception.BadRequestException;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.repository.CommentRepository;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    public static final String UPDATE_OPERATION = "item.update";
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemMapper mapper;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemResponseCache itemResponseCache;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ItemCommentLoader itemCommentLoader;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<Item> findAllByUserId(long userId, int from, int size) {
+    @Transactional(readOnly = true)
+    public List<ItemResponse> findAllByUserId(long userId, int from, int size) {
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        return itemRepository.findAllByOwnerIdOrderById(userId, pageRequest)
-                .toList();
+        List<ItemResponse> items = mapper.mapToResponse(itemRepository.findViewsByOwnerId(userId, pageRequest));
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        Map<Long, ItemResponse> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemResponse::getId, Function.identity()));
+        for (ItemBookingView view : bookingRepository.findLastAndNextByItemIds(itemsById.keySet(), LocalDateTime.now())) {
+            ItemResponse item = itemsById.get(view.getItemId());
+            if (Boolean.TRUE.equals(view.getLast())) {
+                item.setLastBooking(mapper.mapToBookingView(view));
+            } else {
+                item.setNextBooking(mapper.mapToBookingView(view));
+            }
+        }
+        itemCommentLoader.fill(items);
+        return items;
     }
 
     @Override
+    @Transactional
     public Item create(long userId, Item item) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
+        User owner = userCache.getById(userId);
 
         item.setOwner(owner);
 
-        return itemRepository.save(item);
+        Item createdItem = itemRepository.save(item);
+        searchEngine.index(createdItem);
+        if (createdItem.getRequestId() != null) {
+            itemRequestRepository.findAuthorIdById(createdItem.getRequestId())
+                    .ifPresent(authorId -> eventPublisher.publishEvent(
+                            Notification.requestItemAdded(authorId, createdItem)));
+        }
+        return createdItem;
     }
 
+    /**
+     * Без транзакции метода: каждую попытку в своей транзакции выполняет {@link OptimisticLockRetry}
+     */
     @Override
     public Item update(long userId, long itemId, Item itemUpdate) {
-        Item savedItem = itemRepository.findByIdAndOwnerId(itemId, userId)
-                .orElseThrow(() -> new NotFoundException("Вещь пользователя " + userId + " с id " + itemId + " не найден"));
-
-        mapper.merge(savedItem, itemUpdate);
-        return itemRepository.save(savedItem);
+        Item updatedItem = optimisticLockRetry.execute(UPDATE_OPERATION, () -> {
+            Item savedItem = itemRepository.findByIdAndOwnerId(itemId, userId)
+                    .orElseThrow(() -> new NotFoundException("Вещь пользователя " + userId + " с id " + itemId + " не найден"));
+
+            mapper.merge(savedItem, itemUpdate);
+            return initializeComments(List.of(itemRepository.save(savedItem))).get(0);
+        });
+        searchEngine.index(updatedItem);
+        itemResponseCache.evict(itemId);
+        fillBookings(List.of(updatedItem));
+        return updatedItem;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> findAllByName(String text, int from, int size) {
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        return itemRepository.findAllByNameContainingIgnoreCase(text, pageRequest)
-                .toList();
+        List<Long> ids = searchEngine.search(text, pageRequest);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return initializeComments(ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Item findById(long itemId) {
-        return itemRepository.findById(itemId)
+        Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найден"));
+        fillBookings(List.of(item));
+        return initializeComments(List.of(item)).get(0);
     }
 
     @Override
+    @Transactional
     public Comment addComment(long userId, long itemId, Comment comment) {
 
         LocalDateTime time = LocalDateTime.now();
@@ -85,7 +150,48 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setAuthor(user);
 
-        return commentRepository.save(comment);
+        Comment createdComment = commentRepository.save(comment);
+        itemResponseCache.evict(itemId);
+        return createdComment;
+    }
+
+    /**
+     * Загрузка комментариев до конца транзакции: сессия после выхода из сервиса закрыта,
+     * а ответ с вещью включает комментарии. Коллекции подгружаются пачками по @BatchSize.
+     */
+    private static List<Item> initializeComments(List<Item> items) {
+        items.forEach(item -> Hibernate.initialize(item.getComments()));
+        return items;
     }
-}
 
+    /**
+     * Заполнение последнего и ближайшего бронирования одним запросом для всех вещей страницы
+     */
+    private void fillBookings(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Item> itemsById = items.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (ItemBookingView view : bookingRepository.findLastAndNextByItemIds(itemsById.keySet(), LocalDateTime.now())) {
+            Item item = itemsById.get(view.getItemId());
+            if (Boolean.TRUE.equals(view.getLast())) {
+                item.setLastBooking(toBooking(view));
+            } else {
+                item.setNextBooking(toBooking(view));
+            }
+        }
+    }
+
+    private static Booking toBooking(ItemBookingView view) {
+        User booker = new User();
+        booker.setId(view.getBookerId());
+
+        Booking booking = new Booking();
+        booking.setId(view.getBookingId());
+        booking.setBooker(booker);
+        return booking;
+    }
+}
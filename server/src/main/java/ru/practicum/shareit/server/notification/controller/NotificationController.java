@@ -0,0 +1,34 @@
+package ru.practicum.shareit.server.notification.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.server.notification.service.NotificationHub;
+
+import static ru.practicum.shareit.server.common.Constants.USER_HEADER;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping(path = "/notifications")
+public class NotificationController {
+
+    private final NotificationHub notificationHub;
+
+    /**
+     * Поток уведомлений пользователя о бронированиях и ответах на его запросы
+     *
+     * @param userId идентификатор пользователя
+     * @return поток server-sent events
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(USER_HEADER) Long userId) {
+        log.info("Подключение к потоку уведомлений пользователя {}", userId);
+        return notificationHub.subscribe(userId);
+    }
+}
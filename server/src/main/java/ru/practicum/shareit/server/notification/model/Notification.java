@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server.notification.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.item.model.Item;
+
+/**
+ * Уведомление пользователя об изменении, которое иначе пришлось бы узнавать опросом списков.
+ * Публикуется сервисами как событие приложения и доставляется после фиксации транзакции.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class Notification {
+
+    /**
+     * Получатель уведомления, в тело события не передаётся
+     */
+    @JsonIgnore
+    long userId;
+
+    NotificationType type;
+
+    Long bookingId;
+
+    Long itemId;
+
+    Long requestId;
+
+    Status status;
+
+    public static Notification bookingCreated(Booking booking) {
+        return new Notification(booking.getItem().getOwner().getId(), NotificationType.BOOKING_CREATED,
+                booking.getId(), booking.getItem().getId(), null, booking.getStatus());
+    }
+
+    public static Notification bookingStatusChanged(Booking booking) {
+        NotificationType type = booking.getStatus() == Status.APPROVED
+                ? NotificationType.BOOKING_APPROVED
+                : NotificationType.BOOKING_REJECTED;
+        return new Notification(booking.getBooker().getId(), type,
+                booking.getId(), booking.getItem().getId(), null, booking.getStatus());
+    }
+
+    public static Notification requestItemAdded(long requestAuthorId, Item item) {
+        return new Notification(requestAuthorId, NotificationType.REQUEST_ITEM_ADDED,
+                null, item.getId(), item.getRequestId(), null);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.server.notification.model;
+
+public enum NotificationType {
+    /**
+     * Владельцу вещи: создано бронирование, ожидающее подтверждения
+     */
+    BOOKING_CREATED,
+    /**
+     * Арендатору: владелец подтвердил бронирование
+     */
+    BOOKING_APPROVED,
+    /**
+     * Арендатору: владелец отклонил бронирование
+     */
+    BOOKING_REJECTED,
+    /**
+     * Автору запроса: в ответ на запрос добавлена вещь
+     */
+    REQUEST_ITEM_ADDED
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.server.notification.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.server.notification.model.Notification;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Подключение пользователя к потоку уведомлений с ограниченным буфером неотправленных событий.
+ * Отправка идёт из одного потока за раз, поэтому события приходят клиенту в порядке публикации.
+ */
+public class NotificationConnection {
+    private final long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Notification> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong nextEventId = new AtomicLong();
+
+    public NotificationConnection(long userId, SseEmitter emitter, int bufferSize) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Постановка события в буфер подключения
+     *
+     * @return false, если буфер заполнен: клиент не успевает читать поток
+     */
+    public boolean offer(Notification notification) {
+        return buffer.offer(notification);
+    }
+
+    /**
+     * Захват отправки буфера; отправку ведёт тот, кто захватил её первым
+     *
+     * @return false, если буфер уже отправляется другим потоком
+     */
+    public boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Отправка накопленных событий клиенту
+     *
+     * @return true, если после отправки в буфере остались события, поставленные во время освобождения захвата
+     * @throws IOException если клиент отключился
+     */
+    public boolean drain() throws IOException {
+        try {
+            Notification notification;
+            while ((notification = buffer.poll()) != null) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(nextEventId.incrementAndGet()))
+                        .name(notification.getType().name())
+                        .data(notification, MediaType.APPLICATION_JSON));
+            }
+        } finally {
+            draining.set(false);
+        }
+        return !buffer.isEmpty() && startDraining();
+    }
+}
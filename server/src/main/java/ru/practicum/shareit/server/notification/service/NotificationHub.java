@@ -0,0 +1,140 @@
+package ru.practicum.shareit.server.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.user.service.UserCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Потоки уведомлений пользователей (server-sent events) на этом экземпляре сервера.
+ * Уведомления публикуются сервисами как события приложения и рассылаются после фиксации транзакции
+ * всем подключениям получателя. Клиент, не успевающий читать поток, отключается при переполнении буфера
+ * и после переподключения перечитывает списки. Число подключений публикуется в метрике
+ * shareit.notifications.connections, отключения из-за переполнения — в shareit.notifications.overflows.
+ */
+@Slf4j
+@Component
+public class NotificationHub implements DisposableBean {
+    public static final String CONNECTIONS_METRIC = "shareit.notifications.connections";
+    public static final String OVERFLOWS_METRIC = "shareit.notifications.overflows";
+
+    private final UserCache userCache;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Map<Long, Set<NotificationConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter overflows;
+    private final ExecutorService sender;
+
+    public NotificationHub(
+            UserCache userCache,
+            MeterRegistry meterRegistry,
+            @Value("${shareit.notifications.buffer-size:256}") int bufferSize,
+            @Value("${shareit.notifications.timeout:PT30M}") Duration timeout,
+            @Value("${shareit.notifications.sender-threads:4}") int senderThreads
+    ) {
+        this.userCache = userCache;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.overflows = meterRegistry.counter(OVERFLOWS_METRIC);
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(CONNECTIONS_METRIC, connectionCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Открытие потока уведомлений пользователя
+     *
+     * @param userId идентификатор пользователя
+     * @return поток, который закрывается по истечении shareit.notifications.timeout
+     */
+    public SseEmitter subscribe(long userId) {
+        userCache.getById(userId);
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        NotificationConnection connection = new NotificationConnection(userId, emitter, bufferSize);
+        connections.compute(userId, (id, userConnections) -> {
+            Set<NotificationConnection> result = userConnections != null
+                    ? userConnections
+                    : ConcurrentHashMap.newKeySet();
+            result.add(connection);
+            connectionCount.incrementAndGet();
+            return result;
+        });
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(Notification notification) {
+        Set<NotificationConnection> userConnections = connections.get(notification.getUserId());
+        if (userConnections == null) {
+            return;
+        }
+
+        for (NotificationConnection connection : userConnections) {
+            if (!connection.offer(notification)) {
+                overflows.increment();
+                log.warn("Поток уведомлений пользователя {} отключён: буфер из {} событий переполнен",
+                        connection.getUserId(), bufferSize);
+                remove(connection);
+                connection.getEmitter().complete();
+            } else if (connection.startDraining()) {
+                sender.execute(() -> drain(connection));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    private void drain(NotificationConnection connection) {
+        try {
+            boolean more;
+            do {
+                more = connection.drain();
+            } while (more);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Поток уведомлений пользователя {} закрыт: {}", connection.getUserId(), e.getMessage());
+            remove(connection);
+        }
+    }
+
+    /**
+     * Добавление и удаление подключений пользователя идут под блокировкой его ключа в connections:
+     * иначе подключение, добавленное в набор в момент удаления опустевшего набора, терялось бы вместе с ним
+     */
+    private void remove(NotificationConnection connection) {
+        connections.computeIfPresent(connection.getUserId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
 import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
 
 import java.util.List;
@@ -32,7 +34,7 @@ public class ItemRequestController {
             @RequestHeader(USER_HEADER) Long authorId
     ) {
         log.info("Получение списка запросов по автору {}", authorId);
-        return mapper.mapToResponseEntity(service.findAllByAuthor(authorId));
+        return service.findAllByAuthor(authorId);
     }
 
     /**
@@ -50,7 +52,25 @@ public class ItemRequestController {
             @RequestParam(defaultValue = DEFAULT_SIZE) int size
     ) {
         log.info("Получение всех запросов для пользователя {} from={}, size={}", userId, from, size);
-        return mapper.mapToResponseEntity(service.findAll(userId, from, size));
+        return service.findAll(userId, from, size);
+    }
+
+    /**
+     * Лента запросов других пользователей с постраничным переходом по курсору
+     *
+     * @param userId идентификатор пользователя
+     * @param cursor курсор из предыдущей страницы, для первой страницы не указывается
+     * @param size   размер страницы
+     * @return страница запросов и курсор следующей страницы
+     */
+    @GetMapping("/all/feed")
+    public ItemRequestFeedResponse findFeed(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        log.info("Получение ленты запросов для пользователя {}", userId);
+        return service.findFeed(userId, ItemRequestCursor.decode(cursor), size);
     }
 
     /**
@@ -66,7 +86,7 @@ public class ItemRequestController {
             @PathVariable long requestId
     ) {
         log.info("Получение запроса по идентификатору {} для пользователя {}", requestId, userId);
-        return mapper.mapToResponseEntity(service.findById(userId, requestId));
+        return service.findById(userId, requestId);
     }
 
     /**
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.request.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemRequestFeedResponse {
+
+    List<ItemRequestResponse> requests;
+
+    /**
+     * Курсор следующей страницы, отсутствует на последней странице
+     */
+    String nextCursor;
+}
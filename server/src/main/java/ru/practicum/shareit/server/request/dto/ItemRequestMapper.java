@@ -1,9 +1,17 @@
 package ru.practicum.shareit.server.request.dto;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.shareit.server.common.dto.AbstractMapper;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 
 @Mapper(componentModel = "spring")
 public interface ItemRequestMapper extends AbstractMapper<ItemRequest, ItemRequestResponse, ItemRequestCreateRequest, Void> {
+
+    /**
+     * Вещи запросов заполняет сервис одним запросом для всей страницы
+     */
+    @Override
+    @Mapping(target = "items", ignore = true)
+    ItemRequestResponse mapToResponseEntity(ItemRequest entity);
 }
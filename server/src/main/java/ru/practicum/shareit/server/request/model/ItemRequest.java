@@ -6,12 +6,10 @@ import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import org.hibernate.annotations.CreationTimestamp;
 import ru.practicum.shareit.server.common.AbstractEntity;
-import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.Set;
 
 @Entity
 @Getter
@@ -28,7 +26,4 @@ public class ItemRequest extends AbstractEntity {
 
     @CreationTimestamp
     LocalDateTime created;
-
-    @OneToMany(mappedBy = "requestId")
-    Set<Item> items;
 }
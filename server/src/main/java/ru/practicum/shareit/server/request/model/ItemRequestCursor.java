@@ -0,0 +1,60 @@
+package ru.practicum.shareit.server.request.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте запросов, отсортированной по (created, id) по возрастанию
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemRequestCursor {
+
+    /**
+     * Курсор перед первой записью ленты
+     */
+    public static final ItemRequestCursor FIRST = new ItemRequestCursor(LocalDateTime.of(1, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime created;
+
+    long id;
+
+    public static ItemRequestCursor after(ItemRequest itemRequest) {
+        return new ItemRequestCursor(itemRequest.getCreated(), itemRequest.getId());
+    }
+
+    /**
+     * Разбор непрозрачного курсора, пустое значение означает начало ленты
+     */
+    public static ItemRequestCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new ItemRequestCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Некорректный курсор: " + value);
+        }
+    }
+
+    public String encode() {
+        String raw = created + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
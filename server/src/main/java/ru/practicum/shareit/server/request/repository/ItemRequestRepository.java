@@ -1,15 +1,31 @@
 package ru.practicum.shareit.server.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 import ru.practicum.shareit.server.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByAuthor(User author);
 
-    Page<ItemRequest> findAllByAuthorNotOrderByCreated(User author, Pageable pageable);
+    List<ItemRequest> findAllByAuthorNotOrderByCreated(User author, Pageable pageable);
+
+    @Query("select r.author.id from ItemRequest r where r.id = :requestId")
+    Optional<Long> findAuthorIdById(long requestId);
+
+    /**
+     * Страница ленты чужих запросов после курсора: чтение идёт по индексу (created, id)
+     * с позиции курсора, поэтому стоимость не зависит от глубины прокрутки
+     */
+    @Query("select r from ItemRequest r " +
+            "where r.author.id <> :userId " +
+            "and (r.created > :cursorCreated or (r.created = :cursorCreated and r.id > :cursorId)) " +
+            "order by r.created, r.id")
+    Slice<ItemRequest> findFeed(long userId, LocalDateTime cursorCreated, long cursorId, Pageable pageable);
 }
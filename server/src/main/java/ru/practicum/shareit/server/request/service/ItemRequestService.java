@@ -1,6 +1,9 @@
 package ru.practicum.shareit.server.request.service;
 
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 
 import java.util.List;
 
@@ -8,9 +11,11 @@ public interface ItemRequestService {
 
     ItemRequest create(long userId, ItemRequest itemRequest);
 
-    List<ItemRequest> findAllByAuthor(long authorId);
+    List<ItemRequestResponse> findAllByAuthor(long authorId);
 
-    List<ItemRequest> findAll(long userId, int from, int size);
+    List<ItemRequestResponse> findAll(long userId, int from, int size);
 
-    ItemRequest findById(long userId, long requestId);
+    ItemRequestFeedResponse findFeed(long userId, ItemRequestCursor cursor, int size);
+
+    ItemRequestResponse findById(long userId, long requestId);
 }
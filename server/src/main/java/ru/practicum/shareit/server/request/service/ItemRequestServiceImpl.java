@@ -2,54 +2,109 @@ package ru.practicum.shareit.server.request.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
+import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final UserCache userCache;
+    private final ItemRequestMapper mapper;
+    private final ItemMapper itemMapper;
+    private final ItemCommentLoader itemCommentLoader;
 
     @Override
+    @Transactional
     public ItemRequest create(long userId, ItemRequest itemRequest) {
-        User user = getUserById(userId);
+        User user = userCache.getById(userId);
         itemRequest.setAuthor(user);
         return itemRequestRepository.save(itemRequest);
     }
 
     @Override
-    public List<ItemRequest> findAllByAuthor(long authorId) {
-        User author = getUserById(authorId);
-        return itemRequestRepository.findAllByAuthor(author);
+    @Transactional(readOnly = true)
+    public List<ItemRequestResponse> findAllByAuthor(long authorId) {
+        User author = userCache.getById(authorId);
+        return toResponses(itemRequestRepository.findAllByAuthor(author));
     }
 
     @Override
-    public List<ItemRequest> findAll(long userId, int from, int size) {
-        User user = getUserById(userId);
+    @Transactional(readOnly = true)
+    public List<ItemRequestResponse> findAll(long userId, int from, int size) {
+        User user = userCache.getById(userId);
 
-        return itemRequestRepository
-                .findAllByAuthorNotOrderByCreated(user, PageRequest.of(from / size, size))
-                .toList();
+        return toResponses(itemRequestRepository
+                .findAllByAuthorNotOrderByCreated(user, PageRequest.of(from / size, size)));
     }
 
     @Override
-    public ItemRequest findById(long userId, long requestId) {
-        getUserById(userId);
+    @Transactional(readOnly = true)
+    public ItemRequestFeedResponse findFeed(long userId, ItemRequestCursor cursor, int size) {
+        userCache.getById(userId);
 
-        return itemRequestRepository.findById(requestId)
+        Slice<ItemRequest> slice = itemRequestRepository.findFeed(
+                userId, cursor.getCreated(), cursor.getId(), PageRequest.of(0, size)
+        );
+
+        ItemRequestFeedResponse response = new ItemRequestFeedResponse();
+        response.setRequests(toResponses(slice.getContent()));
+        if (slice.hasNext()) {
+            List<ItemRequest> content = slice.getContent();
+            response.setNextCursor(ItemRequestCursor.after(content.get(content.size() - 1)).encode());
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestResponse findById(long userId, long requestId) {
+        userCache.getById(userId);
+
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id=" + requestId + " не найден!"));
+        return toResponses(List.of(itemRequest)).get(0);
     }
 
-    private User getUserById(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден!"));
+    /**
+     * Вещи всех запросов страницы загружаются одним запросом только с полями ответа,
+     * их комментарии — ещё одним, независимо от числа запросов и вещей
+     */
+    private List<ItemRequestResponse> toResponses(List<ItemRequest> itemRequests) {
+        List<ItemRequestResponse> responses = mapper.mapToResponseEntity(itemRequests);
+        if (responses.isEmpty()) {
+            return responses;
+        }
+
+        Map<Long, Set<ItemResponse>> itemsByRequestId = responses.stream()
+                .collect(Collectors.toMap(ItemRequestResponse::getId, response -> new LinkedHashSet<>()));
+
+        List<ItemResponse> items = itemMapper.mapToResponse(
+                itemRepository.findViewsByRequestIdIn(itemsByRequestId.keySet())
+        );
+        items.forEach(item -> itemsByRequestId.get(item.getRequestId()).add(item));
+        itemCommentLoader.fill(items);
+
+        responses.forEach(response -> response.setItems(itemsByRequestId.get(response.getId())));
+        return responses;
     }
 }
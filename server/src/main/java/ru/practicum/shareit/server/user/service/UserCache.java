@@ -0,0 +1,79 @@
+package ru.practicum.shareit.server.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.common.AfterCommit;
+import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Кэш пользователей для проверки заголовка X-Sharer-User-Id в сервисах.
+ * Хранит отсоединённые копии сущностей, отсутствующие пользователи не кэшируются.
+ * Статистика попаданий и промахов публикуется в метриках cache.* с тегом cache=users.
+ */
+@Component
+public class UserCache {
+    public static final String NAME = "users";
+
+    private final UserRepository repository;
+
+    private final Cache<Long, User> cache;
+
+    public UserCache(
+            UserRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${shareit.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${shareit.cache.users.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.repository = repository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Получение пользователя по id
+     *
+     * @param userId идентификатор пользователя
+     * @return копия пользователя, которую можно привязывать к новым сущностям
+     * @throws NotFoundException если пользователь не найден
+     */
+    public User getById(long userId) {
+        User user = cache.get(userId, id -> repository.findById(id)
+                .map(UserCache::copyOf)
+                .orElse(null));
+        if (user == null) {
+            throw new NotFoundException("Пользователь с id=" + userId + " не найден!");
+        }
+        return copyOf(user);
+    }
+
+    /**
+     * Сброс записи после фиксации текущей транзакции: при сбросе до фиксации параллельный запрос успел бы
+     * закэшировать прежнего или уже удалённого пользователя на всё время жизни записи
+     *
+     * @param userId идентификатор пользователя
+     */
+    public void evict(long userId) {
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setVersion(user.getVersion());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        return copy;
+    }
+}
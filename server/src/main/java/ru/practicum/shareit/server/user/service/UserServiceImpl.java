@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.user.dto.UserMapper;
 import ru.practicum.shareit.server.user.repository.UserRepository;
@@ -18,35 +19,44 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
     private final UserMapper mapper;
+    private final UserCache userCache;
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll(int from, int size) {
         return repository.findAll(PageRequest.of(from / size, size))
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findById(long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id=" + id + " не найден"));
     }
 
     @Override
+    @Transactional
     public User create(User user) {
         return repository.save(user);
     }
 
     @Override
+    @Transactional
     public User update(long id, User user) {
         User savedUser = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id=" + id + " не найден!"));
 
         mapper.merge(savedUser, user);
-        return repository.save(savedUser);
+        User updatedUser = repository.save(savedUser);
+        userCache.evict(id);
+        return updatedUser;
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         repository.deleteById(id);
+        userCache.evict(id);
     }
 }
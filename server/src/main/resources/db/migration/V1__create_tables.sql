@@ -1,17 +1,11 @@
-drop table if exists users cascade;
-drop table if exists items cascade;
-drop table if exists bookings cascade;
-drop table if exists comments cascade;
-drop table if exists requests cascade;
-
-create table if not exists users
+create table users
 (
     id    bigint generated always as identity primary key,
     name  varchar(255) not null,
     email varchar(512) not null unique
 );
 
-create table if not exists requests
+create table requests
 (
     id          bigint generated always as identity primary key,
     description varchar(1000)                                  not null,
@@ -19,7 +13,7 @@ create table if not exists requests
     author_id   bigint references users (id) on delete cascade not null
 );
 
-create table if not exists items
+create table items
 (
     id          bigint generated always as identity primary key,
     name        varchar(255) not null,
@@ -29,7 +23,7 @@ create table if not exists items
     request_id  bigint references requests (id) on delete cascade
 );
 
-create table if not exists bookings
+create table bookings
 (
     id         bigint generated always as identity primary key,
     booker_id  bigint references users (id) on delete cascade,
@@ -39,12 +33,11 @@ create table if not exists bookings
     status     varchar(10)                 not null
 );
 
-
-create table if not exists comments
+create table comments
 (
     id         bigint generated always as identity primary key,
     text       varchar(1000)                                  not null,
     created_at timestamp without time zone                    not null,
     author_id  bigint references users (id) on delete cascade not null,
     item_id    bigint references items (id) on delete cascade not null
-);
\ No newline at end of file
+);
@@ -0,0 +1,10 @@
+-- Списки бронирований арендатора: ALL, FUTURE, PAST, CURRENT и лента по курсору (start_time, id)
+create index bookings_booker_start_idx on bookings (booker_id, start_time desc, id desc);
+
+-- Списки бронирований арендатора по статусу: WAITING, APPROVED, REJECTED
+create index bookings_booker_status_start_idx on bookings (booker_id, status, start_time desc, id desc);
+
+-- Списки бронирований владельца идут через items.owner_id -> bookings.item_id
+create index items_owner_idx on items (owner_id, id);
+create index bookings_item_start_idx on bookings (item_id, start_time desc, id desc);
+create index bookings_item_status_start_idx on bookings (item_id, status, start_time desc, id desc);
@@ -0,0 +1,6 @@
+-- Версии строк для оптимистической блокировки
+alter table users add column version bigint default 0 not null;
+alter table requests add column version bigint default 0 not null;
+alter table items add column version bigint default 0 not null;
+alter table bookings add column version bigint default 0 not null;
+alter table comments add column version bigint default 0 not null;
@@ -0,0 +1,2 @@
+-- Лента чужих запросов /requests/all/feed по курсору (created, id)
+create index requests_created_idx on requests (created, id);
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Одновременные подтверждения пересекающихся бронирований в отдельных транзакциях:
+ * данные фиксируются в базе, поэтому тест не транзакционный и удаляет их сам
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingApprovalConcurrencyIT {
+
+    private static final int THREADS = 4;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectGenerator objectGenerator;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(objectGenerator.next(User.class));
+        booker = userService.create(objectGenerator.next(User.class));
+
+        Item newItem = objectGenerator.next(Item.class);
+        newItem.setAvailable(true);
+        item = itemService.create(owner.getId(), newItem);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < THREADS; i++) {
+            Booking booking = objectGenerator.next(Booking.class);
+            booking.setItem(item);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusDays(1).plusHours(i));
+            bookings.add(bookingService.create(booker.getId(), booking));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllById(bookings.stream().map(Booking::getId).collect(Collectors.toList()));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    @Test
+    void approve_whenOverlappingBookingsApprovedConcurrently_thenOnlyOneApproved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Booking booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.approve(owner.getId(), booking.getId(), true);
+                    } catch (BookingOverlapException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long approved = bookingRepository.findAllById(bookings.stream().map(Booking::getId).collect(Collectors.toList())).stream()
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .count();
+        assertThat(approved, equalTo(1L));
+        assertThat(rejected.get(), equalTo(THREADS - 1));
+    }
+}
@@ -9,12 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.booking.controller.BookingController;
 import ru.practicum.shareit.server.booking.dto.BookingMapper;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.BookingState;
 import ru.practicum.shareit.server.booking.service.BookingService;
 import ru.practicum.shareit.server.common.ObjectGenerator;
@@ -43,6 +47,7 @@ class BookingControllerIT {
     private final MockMvc mockMvc;
     private final ObjectMapper objectMapper;
     private final ObjectGenerator objectGenerator;
+    private final BookingMapper mapper;
 
     @MockBean
     private BookingService bookingService;
@@ -200,6 +205,59 @@ class BookingControllerIT {
         verify(bookingService, never()).approve(userId, bookingId, approved);
     }
 
+    @SneakyThrows
+    @Test
+    void createAll_whenValidRequest_thenResultPerEntryReturned() {
+        long userId = 1L;
+        bookingCreateRequest.setStart(currentDateTime.plusDays(1));
+        bookingCreateRequest.setEnd(currentDateTime.plusDays(2));
+        bookingCreateRequest.setItemId(1L);
+
+        when(bookingService.createAll(anyLong(), any()))
+                .thenReturn(List.of(BookingBatchResult.success(booking), BookingBatchResult.failure("Вещь не доступен для бронирования")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(bookingCreateRequest, bookingCreateRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].booking.item.id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is("Вещь не доступен для бронирования")));
+
+        verify(bookingService).createAll(anyLong(), argThat(bookings -> bookings.size() == 2));
+    }
+
+    @SneakyThrows
+    @Test
+    void approveAll_whenValidRequest_thenResultPerEntryReturned() {
+        long userId = 1L;
+        boolean approved = true;
+        List<Long> bookingIds = List.of(1L, 2L);
+
+        when(bookingService.approveAll(userId, bookingIds, approved))
+                .thenReturn(List.of(BookingBatchResult.success(booking), BookingBatchResult.failure("Статус можно менять только если WAITING")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("approved", Boolean.toString(approved))
+                        .content(objectMapper.writeValueAsString(bookingIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(1L), Long.class))
+                .andExpect(jsonPath("$[1].error", is("Статус можно менять только если WAITING")));
+
+        verify(bookingService).approveAll(userId, bookingIds, approved);
+    }
+
     @SneakyThrows
     @Test
     void getById_whenValidRequest_thenBookingResponseReturned() {
@@ -232,6 +290,29 @@ class BookingControllerIT {
         verify(bookingService).findByUserIdAndId(bookingId, userId);
     }
 
+    @SneakyThrows
+    @Test
+    void getById_whenItemHasBookings_thenItemBookingsNotReturned() {
+        long userId = 1L;
+        long bookingId = 1L;
+        item.setNextBooking(booking);
+
+        when(bookingService.findByUserIdAndId(bookingId, userId))
+                .thenReturn(booking);
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$.item.lastBooking", nullValue()))
+                .andExpect(jsonPath("$.item.nextBooking", nullValue()));
+
+        verify(bookingService).findByUserIdAndId(bookingId, userId);
+    }
+
     @SneakyThrows
     @Test
     void getById_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -278,7 +359,7 @@ class BookingControllerIT {
         int size = 50;
 
         when(bookingService.findAllByBookerId(userId, stateFilter, from, size))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(mapper.mapToResponseEntity(booking)));
 
         mockMvc.perform(get("/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -341,7 +422,7 @@ class BookingControllerIT {
         int size = 50;
 
         when(bookingService.findAllByOwnerId(userId, stateFilter, from, size))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(mapper.mapToResponseEntity(booking)));
 
         mockMvc.perform(get("/bookings/owner")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -394,4 +475,67 @@ class BookingControllerIT {
 
         verify(bookingService, never()).findAllByOwnerId(anyLong(), any(), anyInt(), anyInt());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getFeedByBookerId_whenMorePagesExist_thenBookingsAndNextCursorReturned() {
+        long userId = 0L;
+        int size = 1;
+        booking.setStart(currentDateTime);
+
+        when(bookingService.findFeedByBookerId(eq(userId), eq(BookingState.ALL), any(), eq(size)))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, size), true));
+
+        mockMvc.perform(get("/bookings/feed")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].id", is(1L), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is(BookingCursor.after(booking).encode())));
+
+        verify(bookingService).findFeedByBookerId(userId, BookingState.ALL, BookingCursor.FIRST, size);
+    }
+
+    @SneakyThrows
+    @Test
+    void getFeedByOwnerId_whenLastPage_thenNextCursorIsNull() {
+        long userId = 0L;
+        int size = 50;
+        BookingCursor cursor = new BookingCursor(currentDateTime, 5L);
+
+        when(bookingService.findFeedByOwnerId(eq(userId), eq(BookingState.APPROVED), any(), eq(size)))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, size), false));
+
+        mockMvc.perform(get("/bookings/owner/feed")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", BookingState.APPROVED.name())
+                        .param("cursor", cursor.encode())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        verify(bookingService).findFeedByOwnerId(eq(userId), eq(BookingState.APPROVED),
+                argThat(actual -> actual.getId() == 5L && actual.getStart().equals(currentDateTime)), eq(size));
+    }
+
+    @SneakyThrows
+    @Test
+    void getFeedByBookerId_whenInvalidCursor_thenBadRequestReturned() {
+        long userId = 0L;
+
+        mockMvc.perform(get("/bookings/feed")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "not a cursor")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", Matchers.containsString("Некорректный курсор")));
+
+        verify(bookingService, never()).findFeedByBookerId(anyLong(), any(), any(), anyInt());
+    }
+}
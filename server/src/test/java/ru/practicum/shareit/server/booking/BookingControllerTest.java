@@ -135,8 +135,9 @@ public class BookingControllerTest {
         BookingState stateFilter = BookingState.APPROVED;
         int from = 0;
         int size = 50;
+        BookingResponse bookingResponse = mapper.mapToResponseEntity(booking);
         when(bookingService.findAllByBookerId(userId, stateFilter, from, size))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingResponse));
 
         List<BookingResponse> response = bookingController.findAllByBookerId(userId, stateFilter.toString(), from, size);
 
@@ -161,8 +162,9 @@ public class BookingControllerTest {
         BookingState stateFilter = BookingState.APPROVED;
         int from = 0;
         int size = 50;
+        BookingResponse bookingResponse = mapper.mapToResponseEntity(booking);
         when(bookingService.findAllByOwnerId(userId, stateFilter, from, size))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingResponse));
 
         List<BookingResponse> response = bookingController.findAllByOwnerId(userId, stateFilter.toString(), from, size);
 
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.server.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
+import ru.practicum.shareit.server.common.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void decode_whenEncodedCursor_thenSamePositionReturned() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123_000_000), 42L);
+
+        BookingCursor decoded = BookingCursor.decode(cursor.encode());
+
+        assertThat(decoded.getStart(), equalTo(cursor.getStart()));
+        assertThat(decoded.getId(), equalTo(cursor.getId()));
+    }
+
+    @Test
+    void decode_whenCursorIsBlank_thenFirstReturned() {
+        assertThat(BookingCursor.decode(null), sameInstance(BookingCursor.FIRST));
+        assertThat(BookingCursor.decode(""), sameInstance(BookingCursor.FIRST));
+    }
+
+    @Test
+    void decode_whenCursorIsInvalid_thenBadRequestExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("YWJj"));
+    }
+}
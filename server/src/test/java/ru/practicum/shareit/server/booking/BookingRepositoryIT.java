@@ -7,8 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.repository.BookingListView;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.common.ObjectGenerator;
 import ru.practicum.shareit.server.item.model.Item;
@@ -23,6 +27,8 @@ import java.util.stream.Collectors;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @Import(ObjectGenerator.class)
@@ -91,11 +97,12 @@ class BookingRepositoryIT {
 
     @Test
     void findByBookerIdOrderByStartDesc_whenBookingsExists_thenOrderedListOfBookingsReturned() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdOrderByStartDesc(booker.getId(), pageRequest)
-                .getContent();
+        List<BookingListView> actualBookings = bookingRepository.findBookerList(booker.getId(), pageRequest);
 
         assertThat(actualBookings, hasSize(3));
-        assertThat(actualBookings.stream().map(Booking::getStart).collect(Collectors.toList()),
+        assertThat(actualBookings.get(0).getBookerEmail(), is(booker.getEmail()));
+        assertThat(actualBookings.get(0).getItemName(), is(item.getName()));
+        assertThat(actualBookings.stream().map(BookingListView::getStart).collect(Collectors.toList()),
                 contains(THIRD_START_DATE, SECOND_START_DATE, FIRST_START_DATE));
     }
 
@@ -103,10 +110,10 @@ class BookingRepositoryIT {
     void findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc_whenExists_thenReturned() {
         LocalDateTime searchDateTime = FIRST_START_DATE.plusDays(1);
 
-        List<Booking> bookings =
-                bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+        List<BookingListView> bookings =
+                bookingRepository.findBookerListCurrent(
                         booker.getId(), searchDateTime, pageRequest
-                ).getContent();
+                );
 
         assertThat(bookings, hasSize(1));
     }
@@ -115,10 +122,10 @@ class BookingRepositoryIT {
     void findByBookerIdAndEndLessThanOrderByStartDesc() {
         LocalDateTime searchDateTime = SECOND_END_DATE.plusDays(1);
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(booker.getId(),
-                searchDateTime, pageRequest).getContent();
+        List<BookingListView> bookings = bookingRepository.findBookerListPast(booker.getId(),
+                searchDateTime, pageRequest);
 
-        assertThat(bookings.stream().map(Booking::getStart).collect(Collectors.toList()),
+        assertThat(bookings.stream().map(BookingListView::getStart).collect(Collectors.toList()),
                 contains(SECOND_START_DATE, FIRST_START_DATE));
     }
 
@@ -126,27 +133,26 @@ class BookingRepositoryIT {
     void findByBookerIdAndStartGreaterThanOrderByStartDesc() {
         LocalDateTime searchDateTime = FIRST_END_DATE.minusDays(1);
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(booker.getId(),
-                searchDateTime, pageRequest).getContent();
+        List<BookingListView> bookings = bookingRepository.findBookerListFuture(booker.getId(),
+                searchDateTime, pageRequest);
 
-        assertThat(bookings.stream().map(Booking::getStart).collect(Collectors.toList()),
+        assertThat(bookings.stream().map(BookingListView::getStart).collect(Collectors.toList()),
                 contains(THIRD_START_DATE, SECOND_START_DATE));
     }
 
     @Test
     void findByBookerIdAndStatusIsOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatusIs(booker.getId(),
-                Status.REJECTED, pageRequest).getContent();
+        List<BookingListView> bookings = bookingRepository.findBookerListByStatus(booker.getId(),
+                Status.REJECTED, pageRequest);
 
         assertThat(bookings, hasSize(1));
     }
 
     @Test
     void findByItemOwnerIdOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), pageRequest)
-                .getContent();
+        List<BookingListView> bookings = bookingRepository.findOwnerList(owner.getId(), pageRequest);
 
-        assertThat(bookings.stream().map(Booking::getStart).collect(Collectors.toList()),
+        assertThat(bookings.stream().map(BookingListView::getStart).collect(Collectors.toList()),
                 contains(THIRD_START_DATE, SECOND_START_DATE, FIRST_START_DATE));
     }
 
@@ -154,10 +160,10 @@ class BookingRepositoryIT {
     void findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc() {
         LocalDateTime searchDateTime = FIRST_START_DATE.plusDays(1);
 
-        List<Booking> bookings =
-                bookingRepository.findAllByOwnerIdCurrent(
+        List<BookingListView> bookings =
+                bookingRepository.findOwnerListCurrent(
                         owner.getId(), searchDateTime, pageRequest
-                ).getContent();
+                );
 
         assertThat(bookings, hasSize(1));
     }
@@ -166,12 +172,12 @@ class BookingRepositoryIT {
     void findByItemOwnerIdAndEndLessThanOrderByStartDesc() {
         LocalDateTime searchDateTime = SECOND_END_DATE.plusDays(1);
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
+        List<BookingListView> bookings = bookingRepository.findOwnerListPast(
                 owner.getId(),
                 searchDateTime,
-                pageRequest).getContent();
+                pageRequest);
 
-        assertThat(bookings.stream().map(Booking::getStart).collect(Collectors.toList()), contains(SECOND_START_DATE,
+        assertThat(bookings.stream().map(BookingListView::getStart).collect(Collectors.toList()), contains(SECOND_START_DATE,
                 FIRST_START_DATE));
     }
 
@@ -179,19 +185,19 @@ class BookingRepositoryIT {
     void findByItemOwnerIdAndStartGreaterThanOrderByStartDesc() {
         LocalDateTime searchDateTime = FIRST_END_DATE.minusDays(1);
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(
+        List<BookingListView> bookings = bookingRepository.findOwnerListFuture(
                 owner.getId(),
                 searchDateTime,
-                pageRequest).getContent();
+                pageRequest);
 
-        assertThat(bookings.stream().map(Booking::getStart).collect(Collectors.toList()),
+        assertThat(bookings.stream().map(BookingListView::getStart).collect(Collectors.toList()),
                 contains(THIRD_START_DATE, SECOND_START_DATE));
     }
 
     @Test
     void findByItemOwnerIdAndStatusIsOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatusIs(owner.getId(),
-                Status.REJECTED, pageRequest).getContent();
+        List<BookingListView> bookings = bookingRepository.findOwnerListByStatus(owner.getId(),
+                Status.REJECTED, pageRequest);
 
         assertThat(bookings, hasSize(1));
     }
@@ -202,4 +208,49 @@ class BookingRepositoryIT {
 
         assertThat(bookings, contains(booking1, booking2, booking3));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findBookerFeed_whenCursorGiven_thenBookingsAfterCursorReturned() {
+        PageRequest firstPageRequest = PageRequest.of(0, 2);
+
+        Slice<Booking> firstPage = bookingRepository.findBookerFeed(booker.getId(),
+                BookingCursor.FIRST.getStart(), BookingCursor.FIRST.getId(), firstPageRequest);
+
+        assertThat(firstPage.getContent(), contains(booking3, booking2));
+        assertThat(firstPage.hasNext(), is(true));
+
+        BookingCursor cursor = BookingCursor.after(booking2);
+        Slice<Booking> secondPage = bookingRepository.findBookerFeed(booker.getId(),
+                cursor.getStart(), cursor.getId(), firstPageRequest);
+
+        assertThat(secondPage.getContent(), contains(booking1));
+        assertThat(secondPage.hasNext(), is(false));
+    }
+
+    @Test
+    void findOwnerFeedByStatus_whenBookingsExists_thenOnlyBookingsWithStatusReturned() {
+        Slice<Booking> bookings = bookingRepository.findOwnerFeedByStatus(owner.getId(), Status.APPROVED,
+                BookingCursor.FIRST.getStart(), BookingCursor.FIRST.getId(), pageRequest);
+
+        assertThat(bookings.getContent(), contains(booking2));
+        assertThat(bookings.hasNext(), is(false));
+    }
+
+    @Test
+    void save_whenBookingChangedConcurrently_thenOptimisticLockingFailureThrown() {
+        Booking stale = new Booking();
+        stale.setId(booking1.getId());
+        stale.setVersion(booking1.getVersion());
+        stale.setBooker(booker);
+        stale.setItem(item);
+        stale.setStart(booking1.getStart());
+        stale.setEnd(booking1.getEnd());
+        stale.setStatus(Status.REJECTED);
+
+        booking1.setStatus(Status.APPROVED);
+        bookingRepository.saveAndFlush(booking1);
+
+        assertThat(booking1.getVersion(), is(stale.getVersion() + 1));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.saveAndFlush(stale));
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.server.booking;
 import lombok.RequiredArgsConstructor;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,34 +12,56 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
 import ru.practicum.shareit.server.booking.model.BookingState;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.StatementCounter;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.service.ItemService;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @AutoConfigureTestDatabase
 @SpringBootTest
-@Import(ObjectGenerator.class)
+@Import({ObjectGenerator.class, StatementCounter.class})
 @Transactional
 @Rollback
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingServiceIT {
 
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Проекция страницы бронирований с вещами и арендаторами, комментарии вещей с авторами
+     */
+    private static final long MAX_PAGE_STATEMENTS = 2;
+
+    /**
+     * Пользователь, бронирования пакета с вещами и владельцами, блокировка вещей, подтверждённые периоды вещей,
+     * пакетное обновление статусов
+     */
+    private static final long MAX_BATCH_STATEMENTS = 5;
+
     private final UserService userService;
     private final ItemService itemService;
     private final BookingServiceImpl bookingService;
     private final ObjectGenerator objectGenerator;
+    private final EntityManager entityManager;
+    private final StatementCounter statementCounter;
 
     private Item item;
     private User owner;
@@ -95,9 +118,11 @@ class BookingServiceIT {
         int from = 0;
         int size = 50;
 
-        List<Booking> foundBookings = bookingService.findAllByBookerId(bookerId, stateFilter, from, size);
+        List<BookingResponse> foundBookings = bookingService.findAllByBookerId(bookerId, stateFilter, from, size);
 
-        MatcherAssert.assertThat(foundBookings, Matchers.contains(booking));
+        MatcherAssert.assertThat(foundBookings, Matchers.contains(Matchers.hasProperty("id", Matchers.is(booking.getId()))));
+        MatcherAssert.assertThat(foundBookings.get(0).getBooker().getEmail(), Matchers.is(booker.getEmail()));
+        MatcherAssert.assertThat(foundBookings.get(0).getItem().getName(), Matchers.is(item.getName()));
     }
 
     @Test
@@ -107,9 +132,9 @@ class BookingServiceIT {
         int from = 0;
         int size = 50;
 
-        List<Booking> foundBookings = bookingService.findAllByOwnerId(itemOwnerId, stateFilter, from, size);
+        List<BookingResponse> foundBookings = bookingService.findAllByOwnerId(itemOwnerId, stateFilter, from, size);
 
-        MatcherAssert.assertThat(foundBookings, Matchers.contains(booking));
+        MatcherAssert.assertThat(foundBookings, Matchers.contains(Matchers.hasProperty("id", Matchers.is(booking.getId()))));
     }
 
     @Test
@@ -124,4 +149,169 @@ class BookingServiceIT {
         MatcherAssert.assertThat(foundBooking, Matchers.is(booking));
         MatcherAssert.assertThat(foundBooking.getStatus(), Matchers.is(Status.APPROVED));
     }
+
+    @Test
+    void findByBookerId_whenPageOfBookingsMapped_thenFixedNumberOfStatements() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User itemOwner = persist(objectGenerator.next(User.class));
+            persistBooking(itemOwner, booker, i);
+        }
+        bookingService.findAllByBookerId(booker.getId(), BookingState.ALL, 0, PAGE_SIZE);
+
+        long statements = statementCounter.count(() -> {
+            List<BookingResponse> bookings =
+                    bookingService.findAllByBookerId(booker.getId(), BookingState.ALL, 0, PAGE_SIZE);
+
+            MatcherAssert.assertThat(bookings, Matchers.hasSize(PAGE_SIZE));
+            MatcherAssert.assertThat(bookings.get(1).getItem().getComments(), Matchers.contains(
+                    Matchers.hasProperty("authorName", Matchers.notNullValue())));
+            MatcherAssert.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                    Matchers.is(0));
+        });
+
+        MatcherAssert.assertThat(statements, Matchers.lessThanOrEqualTo(MAX_PAGE_STATEMENTS));
+    }
+
+    @Test
+    void findByItemOwner_whenPageOfBookingsMapped_thenFixedNumberOfStatements() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User itemBooker = persist(objectGenerator.next(User.class));
+            persistBooking(owner, itemBooker, i);
+        }
+        bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, PAGE_SIZE);
+
+        long statements = statementCounter.count(() -> {
+            List<BookingResponse> bookings =
+                    bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, PAGE_SIZE);
+
+            MatcherAssert.assertThat(bookings, Matchers.hasSize(PAGE_SIZE));
+        });
+
+        MatcherAssert.assertThat(statements, Matchers.lessThanOrEqualTo(MAX_PAGE_STATEMENTS));
+    }
+
+    @Test
+    void create_whenPeriodOverlapsApprovedBooking_thenBookingOverlapExceptionThrown() {
+        bookingService.approve(owner.getId(), booking.getId(), true);
+
+        Booking overlapping = newBooking(item);
+        overlapping.setStart(booking.getStart().plusDays(1));
+        overlapping.setEnd(booking.getEnd().plusDays(1));
+        Booking following = newBooking(item);
+        following.setStart(booking.getEnd());
+        following.setEnd(booking.getEnd().plusDays(1));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(anotherUser.getId(), overlapping));
+        MatcherAssert.assertThat(bookingService.create(anotherUser.getId(), following).getId(), Matchers.notNullValue());
+    }
+
+    @Test
+    void approve_whenOverlappingBookingAlreadyApproved_thenBookingOverlapExceptionThrown() {
+        Booking competing = bookingService.create(anotherUser.getId(), newBooking(item));
+        competing.setStart(booking.getStart());
+        competing.setEnd(booking.getEnd());
+
+        bookingService.approve(owner.getId(), booking.getId(), true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.approve(owner.getId(), competing.getId(), true));
+        MatcherAssert.assertThat(competing.getStatus(), Matchers.is(Status.WAITING));
+    }
+
+    @Test
+    void approve_whenOverlappingBookingApprovedOnAnotherInstance_thenBookingOverlapExceptionThrown() {
+        Booking approvedElsewhere = bookingService.create(anotherUser.getId(), newBooking(item));
+        Booking competing = bookingService.create(anotherUser.getId(), newBooking(item));
+
+        // подтверждение другим экземпляром сервера: дерево интервалов этого экземпляра о нём не знает
+        entityManager.createQuery("update Booking b set b.status = :status where b.id = :id")
+                .setParameter("status", Status.APPROVED)
+                .setParameter("id", approvedElsewhere.getId())
+                .executeUpdate();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.approve(owner.getId(), competing.getId(), true));
+    }
+
+    @Test
+    void createAll_whenOneItemNotAvailable_thenOtherBookingsCreated() {
+        Item unavailableItem = objectGenerator.next(Item.class);
+        unavailableItem.setOwner(owner);
+        unavailableItem.setAvailable(false);
+        persist(unavailableItem);
+
+        List<Booking> bookings = List.of(newBooking(item), newBooking(unavailableItem), newBooking(item));
+
+        List<BookingBatchResult> results = bookingService.createAll(anotherUser.getId(), bookings);
+
+        MatcherAssert.assertThat(results, Matchers.hasSize(3));
+        MatcherAssert.assertThat(results.get(0).getBooking().getId(), Matchers.notNullValue());
+        MatcherAssert.assertThat(results.get(0).getBooking().getStatus(), Matchers.is(Status.WAITING));
+        MatcherAssert.assertThat(results.get(1).getBooking(), Matchers.nullValue());
+        MatcherAssert.assertThat(results.get(1).getError(), Matchers.notNullValue());
+        MatcherAssert.assertThat(results.get(2).getBooking().getId(), Matchers.notNullValue());
+        MatcherAssert.assertThat(bookingService.findAllByBookerId(anotherUser.getId(), BookingState.ALL, 0, PAGE_SIZE),
+                Matchers.hasSize(2));
+    }
+
+    @Test
+    void approveAll_whenPageOfBookingsApproved_thenFixedNumberOfStatements() {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item ownerItem = objectGenerator.next(Item.class);
+            ownerItem.setOwner(owner);
+            persist(ownerItem);
+            Booking waitingBooking = newBooking(ownerItem);
+            waitingBooking.setBooker(booker);
+            waitingBooking.setStatus(Status.WAITING);
+            bookingIds.add(persist(waitingBooking).getId());
+        }
+        bookingIds.add(0L);
+
+        long statements = statementCounter.count(() -> {
+            List<BookingBatchResult> results = bookingService.approveAll(owner.getId(), bookingIds, true);
+            entityManager.flush();
+
+            MatcherAssert.assertThat(results, Matchers.hasSize(PAGE_SIZE + 1));
+            MatcherAssert.assertThat(results.get(0).getBooking().getStatus(), Matchers.is(Status.APPROVED));
+            MatcherAssert.assertThat(results.get(PAGE_SIZE).getError(), Matchers.notNullValue());
+        });
+
+        MatcherAssert.assertThat(statements, Matchers.lessThanOrEqualTo(MAX_BATCH_STATEMENTS));
+        MatcherAssert.assertThat(bookingService.findAllByOwnerId(owner.getId(), BookingState.APPROVED, 0, PAGE_SIZE),
+                Matchers.hasSize(PAGE_SIZE));
+    }
+
+    private Booking newBooking(Item bookedItem) {
+        Booking newBooking = objectGenerator.next(Booking.class);
+        newBooking.setItem(bookedItem);
+        newBooking.setStart(LocalDateTime.now().plusDays(1));
+        newBooking.setEnd(LocalDateTime.now().plusDays(2));
+        return newBooking;
+    }
+
+    /**
+     * Бронирование отдельной вещи владельца с комментарием отдельного автора
+     */
+    private void persistBooking(User itemOwner, User itemBooker, int index) {
+        Item bookedItem = objectGenerator.next(Item.class);
+        bookedItem.setOwner(itemOwner);
+        persist(bookedItem);
+
+        Comment comment = objectGenerator.next(Comment.class);
+        comment.setItem(bookedItem);
+        comment.setAuthor(persist(objectGenerator.next(User.class)));
+        persist(comment);
+
+        Booking itemBooking = objectGenerator.next(Booking.class);
+        itemBooking.setItem(bookedItem);
+        itemBooking.setBooker(itemBooker);
+        itemBooking.setStart(LocalDateTime.now().minusDays(PAGE_SIZE - index));
+        itemBooking.setEnd(itemBooking.getStart().plusHours(1));
+        itemBooking.setStatus(Status.APPROVED);
+        persist(itemBooking);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,34 +8,58 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.server.booking.dto.BookingMapper;
+import ru.practicum.shareit.server.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.BookingCursor;
 import ru.practicum.shareit.server.booking.model.BookingState;
 import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.overlap.BookingIntervalIndex;
+import ru.practicum.shareit.server.booking.repository.BookingListView;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.server.common.exception.NotAvailableException;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.common.exception.BadRequestException;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.OptimisticLockRetry;
 import ru.practicum.shareit.server.common.exception.OwnerBookItemException;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.notification.model.NotificationType;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.server.common.Constants.MAX_BATCH_SIZE;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTest {
@@ -43,11 +68,30 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserCache userCache;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemResponseCache itemResponseCache;
+
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private ItemCommentLoader itemCommentLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BookingMapper mapper = new BookingMapperImpl();
+
+    @Spy
+    private OptimisticLockRetry optimisticLockRetry =
+            new OptimisticLockRetry(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), 3);
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -57,6 +101,7 @@ class BookingServiceTest {
     private User owner;
     private User booker;
     private Booking booking;
+    private BookingListView bookingView;
 
     @BeforeEach
     void setUp() {
@@ -73,6 +118,10 @@ class BookingServiceTest {
         item.setOwner(owner);
         booking.setItem(item);
         booking.setBooker(booker);
+
+        bookingView = new BookingListView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booker.getId(), booker.getName(), booker.getEmail(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getRequestId());
     }
 
     @Test
@@ -80,8 +129,8 @@ class BookingServiceTest {
         long userId = 1L;
         long bookingId = 0L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(owner));
+        when(userCache.getById(userId))
+                .thenReturn(owner);
         when(bookingRepository.findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId))
                 .thenReturn(Optional.empty());
         when(bookingRepository.findByIdAndBookerId(bookingId, userId))
@@ -89,7 +138,7 @@ class BookingServiceTest {
 
         assertThrows(NotFoundException.class, () -> bookingService.findByUserIdAndId(bookingId, userId));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository).findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId);
         verify(bookingRepository).findByIdAndBookerId(bookingId, userId);
     }
@@ -99,15 +148,15 @@ class BookingServiceTest {
         long userId = owner.getId();
         long bookingId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(owner));
+        when(userCache.getById(userId))
+                .thenReturn(owner);
         when(bookingRepository.findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId))
                 .thenReturn(Optional.of(booking));
 
         Booking actualBooking = bookingService.findByUserIdAndId(bookingId, userId);
 
         assertThat(actualBooking, is(booking));
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository).findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId);
     }
 
@@ -116,8 +165,8 @@ class BookingServiceTest {
         long userId = booker.getId();
         long bookingId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
         when(bookingRepository.findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId))
                 .thenReturn(Optional.empty());
         when(bookingRepository.findByIdAndBookerId(bookingId, userId))
@@ -126,7 +175,7 @@ class BookingServiceTest {
         Booking actualBooking = bookingService.findByUserIdAndId(bookingId, userId);
 
         assertThat(actualBooking, is(booking));
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository).findByIdAndItemOwnerIdOrderByStartDesc(bookingId, userId);
         verify(bookingRepository).findByIdAndBookerId(bookingId, userId);
     }
@@ -136,12 +185,12 @@ class BookingServiceTest {
         long userId = 100L;
         long bookingId = 0L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> bookingService.findByUserIdAndId(bookingId, userId));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
     }
 
     @Test
@@ -151,8 +200,8 @@ class BookingServiceTest {
         int size = 50;
         BookingState stateFilter = BookingState.ALL;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.findAllByBookerId(userId, stateFilter, from, size));
@@ -165,16 +214,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerList(anyLong(), any()))
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByBookerIdOrderByStartDesc(anyLong(), any());
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findBookerList(anyLong(), any());
+        verify(itemCommentLoader).fill(anyList());
     }
 
     @Test
@@ -184,17 +234,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerListCurrent(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findBookerListCurrent(
                 anyLong(), any(), any());
     }
 
@@ -205,17 +255,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerListPast(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByBookerIdAndEndIsBeforeOrderByStartDesc(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findBookerListPast(
                 anyLong(), any(), any());
     }
 
@@ -226,17 +276,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerListFuture(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByBookerIdAndStartIsAfterOrderByStartDesc(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findBookerListFuture(
                 anyLong(), any(), any());
     }
 
@@ -247,17 +297,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStatusIs(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerListByStatus(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByBookerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByBookerIdAndStatusIs(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findBookerListByStatus(
                 anyLong(), any(), any());
     }
 
@@ -268,8 +318,8 @@ class BookingServiceTest {
         int size = 50;
         BookingState stateFilter = BookingState.ALL;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.findAllByOwnerId(userId, stateFilter, from, size));
@@ -282,16 +332,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findOwnerList(anyLong(), any()))
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByItemOwnerIdOrderByStartDesc(anyLong(), any());
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findOwnerList(anyLong(), any());
+        verify(itemCommentLoader).fill(anyList());
     }
 
     @Test
@@ -301,17 +352,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByOwnerIdCurrent(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findOwnerListCurrent(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByOwnerIdCurrent(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findOwnerListCurrent(
                 anyLong(), any(), any());
     }
 
@@ -322,17 +373,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findOwnerListPast(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findOwnerListPast(
                 anyLong(), any(), any());
     }
 
@@ -343,17 +394,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findOwnerListFuture(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findOwnerListFuture(
                 anyLong(), any(), any());
     }
 
@@ -364,17 +415,17 @@ class BookingServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusIs(
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findOwnerListByStatus(
                 anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
+        List<BookingResponse> actualBookings = bookingService.findAllByOwnerId(userId, stateFilter, from, size);
 
-        assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).findAllByItemOwnerIdAndStatusIs(
+        assertThat(actualBookings, contains(hasProperty("id", equalTo(booking.getId()))));
+        verify(userCache).getById(userId);
+        verify(bookingRepository).findOwnerListByStatus(
                 anyLong(), any(), any());
     }
 
@@ -382,13 +433,13 @@ class BookingServiceTest {
     void create_whenUserIdIsInvalid_thanEntityNotFoundExceptionThrown() {
         long userId = 0L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.create(userId, booking));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository, never()).save(booking);
     }
 
@@ -396,15 +447,15 @@ class BookingServiceTest {
     void create_whenItemIdIsInvalid_thanEntityNotFoundExceptionThrown() {
         long userId = 0L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.create(userId, booking));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findById(anyLong());
         verify(bookingRepository, never()).save(booking);
     }
@@ -414,15 +465,15 @@ class BookingServiceTest {
         long userId = 0L;
         item.setAvailable(false);
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(NotAvailableException.class,
                 () -> bookingService.create(userId, booking));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findById(item.getId());
         verify(bookingRepository, never()).save(booking);
     }
@@ -431,15 +482,15 @@ class BookingServiceTest {
     void create_whenOwnerTriesToBook_thanForbiddenExceptionThrown() {
         long userId = owner.getId();
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(owner));
+        when(userCache.getById(userId))
+                .thenReturn(owner);
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(OwnerBookItemException.class,
                 () -> bookingService.create(userId, booking));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findById(item.getId());
         verify(bookingRepository, never()).save(booking);
     }
@@ -451,16 +502,41 @@ class BookingServiceTest {
         booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
         booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
 
         bookingService.create(userId, booking);
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findById(item.getId());
         verify(bookingRepository).save(booking);
+        verify(itemResponseCache).evict(item.getId());
+        verify(eventPublisher).publishEvent(argThat((Notification notification) ->
+                notification.getUserId() == owner.getId()
+                        && notification.getType() == NotificationType.BOOKING_CREATED));
+    }
+
+    @Test
+    void create_whenPeriodOverlapsApprovedBooking_thenBookingOverlapExceptionThrown() {
+        long userId = booker.getId();
+        item.setAvailable(true);
+        booking.setStart(LocalDateTime.of(2030, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2030, 1, 2, 0, 0));
+
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(intervalIndex.overlaps(item.getId(), booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(userId, booking));
+
+        verify(bookingRepository, never()).save(booking);
     }
 
     @Test
@@ -470,8 +546,8 @@ class BookingServiceTest {
         boolean approved = true;
         Status currentStatus = booking.getStatus();
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(owner));
+        when(userCache.getById(userId))
+                .thenReturn(owner);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.empty());
 
@@ -490,13 +566,13 @@ class BookingServiceTest {
         boolean approved = true;
         Status currentStatus = booking.getStatus();
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.approve(userId, bookingId, approved));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository, never()).save(booking);
         verify(bookingRepository, never()).findById(bookingId);
         assertThat(booking.getStatus(), equalTo(currentStatus));
@@ -511,14 +587,14 @@ class BookingServiceTest {
 
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.approve(userId, bookingId, approved));
 
         verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -533,14 +609,14 @@ class BookingServiceTest {
 
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
+        when(userCache.getById(userId))
+                .thenReturn(booker);
 
         assertThrows(BadRequestException.class,
                 () -> bookingService.approve(userId, bookingId, approved));
 
         verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -552,8 +628,8 @@ class BookingServiceTest {
         boolean approved = true;
         booking.setStatus(Status.WAITING);
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(owner));
+        when(userCache.getById(userId))
+                .thenReturn(owner);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
         when(bookingRepository.save(booking))
@@ -562,8 +638,240 @@ class BookingServiceTest {
         Booking changedBooking = bookingService.approve(userId, bookingId, approved);
 
         verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(bookingRepository).save(booking);
+        verify(intervalIndex).reserve(booking);
+        verify(itemResponseCache).evict(booking.getItem().getId());
+        verify(eventPublisher).publishEvent(argThat((Notification notification) ->
+                notification.getUserId() == booker.getId()
+                        && notification.getType() == NotificationType.BOOKING_APPROVED));
         assertThat(changedBooking.getStatus(), equalTo(Status.APPROVED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void setApproved_whenConcurrentlyApproved_thenRetriedAndBadRequestExceptionThrown() {
+        long bookingId = 1L;
+        long userId = owner.getId();
+        booking.setStatus(Status.WAITING);
+        Booking approvedBooking = new Booking();
+        approvedBooking.setId(bookingId);
+        approvedBooking.setItem(item);
+        approvedBooking.setStatus(Status.APPROVED);
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking), Optional.of(approvedBooking));
+        when(bookingRepository.save(booking))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, bookingId));
+
+        assertThrows(BadRequestException.class,
+                () -> bookingService.approve(userId, bookingId, true));
+
+        verify(bookingRepository, times(2)).findById(bookingId);
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertThat(approvedBooking.getStatus(), equalTo(Status.APPROVED));
+    }
+
+    @Test
+    void setApproved_whenPeriodAlreadyApproved_thenBookingOverlapExceptionThrown() {
+        long bookingId = 1L;
+        long userId = owner.getId();
+        booking.setStatus(Status.WAITING);
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
+        doThrow(BookingOverlapException.class)
+                .when(intervalIndex).reserve(booking);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.approve(userId, bookingId, true));
+
+        verify(bookingRepository, never()).save(booking);
+    }
+
+    @Test
+    void setApproved_whenRejected_thenPeriodNotReserved() {
+        long bookingId = 1L;
+        long userId = owner.getId();
+        booking.setStatus(Status.WAITING);
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
+
+        Booking changedBooking = bookingService.approve(userId, bookingId, false);
+
+        verify(intervalIndex, never()).reserve(any());
+        verify(eventPublisher).publishEvent(argThat((Notification notification) ->
+                notification.getType() == NotificationType.BOOKING_REJECTED));
+        assertThat(changedBooking.getStatus(), equalTo(Status.REJECTED));
+    }
+
+    @Test
+    void findFeedByBookerId_whenStateAll_thenSliceReturned() {
+        long userId = booker.getId();
+        int size = 50;
+        BookingCursor cursor = BookingCursor.FIRST;
+
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(bookingRepository.findBookerFeed(eq(userId), eq(cursor.getStart()), eq(cursor.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findFeedByBookerId(userId, BookingState.ALL, cursor, size);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+        verify(bookingRepository).findBookerFeed(eq(userId), eq(cursor.getStart()), eq(cursor.getId()), any());
+    }
+
+    @Test
+    void findFeedByBookerId_whenBookerIdIsInvalid_thenEntityNotFoundExceptionThrown() {
+        long userId = 100L;
+
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.findFeedByBookerId(userId, BookingState.ALL, BookingCursor.FIRST, 50));
+        verify(bookingRepository, never()).findBookerFeed(anyLong(), any(), anyLong(), any());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"CURRENT", "PAST", "FUTURE"})
+    void findFeedByBookerId_whenTimeState_thenTimeQueryUsed(BookingState state) {
+        long userId = booker.getId();
+
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        lenient().when(bookingRepository.findBookerFeedCurrent(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+        lenient().when(bookingRepository.findBookerFeedPast(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+        lenient().when(bookingRepository.findBookerFeedFuture(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findFeedByBookerId(userId, state, BookingCursor.FIRST, 50);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"REJECTED", "APPROVED", "WAITING"})
+    void findFeedByOwnerId_whenStatusState_thenStatusQueryUsed(BookingState state) {
+        long userId = owner.getId();
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        when(bookingRepository.findOwnerFeedByStatus(eq(userId), eq(Status.valueOf(state.name())), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findFeedByOwnerId(userId, state, BookingCursor.FIRST, 50);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"ALL", "CURRENT", "PAST", "FUTURE"})
+    void findFeedByOwnerId_whenNotStatusState_thenSliceReturned(BookingState state) {
+        long userId = owner.getId();
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        lenient().when(bookingRepository.findOwnerFeed(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+        lenient().when(bookingRepository.findOwnerFeedCurrent(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+        lenient().when(bookingRepository.findOwnerFeedPast(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+        lenient().when(bookingRepository.findOwnerFeedFuture(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findFeedByOwnerId(userId, state, BookingCursor.FIRST, 50);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+    }
+
+    @Test
+    void createAll_whenSomeEntriesInvalid_thenResultPerEntryReturned() {
+        long userId = booker.getId();
+        item.setAvailable(true);
+        Item missingItem = new Item();
+        missingItem.setId(2L);
+        Booking missingItemBooking = new Booking();
+        missingItemBooking.setItem(missingItem);
+
+        when(userCache.getById(userId))
+                .thenReturn(booker);
+        when(itemRepository.findAllByIdIn(Set.of(item.getId(), missingItem.getId())))
+                .thenReturn(List.of(item));
+
+        List<BookingBatchResult> results = bookingService.createAll(userId, List.of(booking, missingItemBooking));
+
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).getBooking(), sameInstance(booking));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(Status.WAITING));
+        assertThat(results.get(1).getBooking(), nullValue());
+        assertThat(results.get(1).getError(), containsString("id=2"));
+        verify(bookingRepository).saveAll(List.of(booking));
+        verify(itemRepository, never()).findById(anyLong());
+        verify(itemResponseCache).evict(item.getId());
+    }
+
+    @Test
+    void approveAll_whenSomeEntriesInvalid_thenResultPerEntryReturned() {
+        long userId = owner.getId();
+        booking.setStatus(Status.WAITING);
+        Booking approvedBooking = new Booking();
+        approvedBooking.setId(2L);
+        approvedBooking.setItem(item);
+        approvedBooking.setStatus(Status.APPROVED);
+        List<Long> bookingIds = List.of(booking.getId(), approvedBooking.getId(), 3L);
+
+        when(userCache.getById(userId))
+                .thenReturn(owner);
+        when(bookingRepository.findAllByIdIn(Set.copyOf(bookingIds)))
+                .thenReturn(List.of(booking, approvedBooking));
+
+        List<BookingBatchResult> results = bookingService.approveAll(userId, bookingIds, false);
+
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(Status.REJECTED));
+        assertThat(results.get(1).getError(), containsString("WAITING"));
+        assertThat(results.get(2).getError(), containsString("id=3"));
+        assertThat(approvedBooking.getStatus(), equalTo(Status.APPROVED));
+        verify(bookingRepository).saveAll(List.of(booking));
+        verify(bookingRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(any(Notification.class));
+    }
+
+    @Test
+    void createAll_whenBatchTooLarge_thenBadRequestExceptionThrown() {
+        List<Booking> bookings = Collections.nCopies(MAX_BATCH_SIZE + 1, booking);
+
+        assertThrows(BadRequestException.class, () -> bookingService.createAll(booker.getId(), bookings));
+
+        verify(userCache, never()).getById(anyLong());
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void approveAll_whenBatchTooLarge_thenBadRequestExceptionThrown() {
+        List<Long> bookingIds = LongStream.rangeClosed(1, MAX_BATCH_SIZE + 1).boxed().collect(Collectors.toList());
+
+        assertThrows(BadRequestException.class, () -> bookingService.approveAll(owner.getId(), bookingIds, true));
+
+        verify(bookingRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    void approveAll_whenBatchEmpty_thenBadRequestExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> bookingService.approveAll(owner.getId(), List.of(), true));
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.server.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.overlap.InMemoryBookingIntervalIndex;
+import ru.practicum.shareit.server.booking.repository.BookingInterval;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBookingIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InMemoryBookingIntervalIndex intervalIndex;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = new Item();
+        item.setId(1L);
+    }
+
+    @Test
+    void overlaps_whenApprovedBookingsLoaded_thenOnlyIntersectingPeriodsDetected() {
+        when(bookingRepository.findByItemIdAndStatus(item.getId(), Status.APPROVED))
+                .thenReturn(List.of(interval(1L, 10, 20), interval(2L, 30, 40), interval(3L, 32, 35)));
+
+        assertTrue(intervalIndex.overlaps(item.getId(), at(15), at(25)));
+        assertTrue(intervalIndex.overlaps(item.getId(), at(36), at(38)));
+        assertTrue(intervalIndex.overlaps(item.getId(), at(0), at(50)));
+        assertFalse(intervalIndex.overlaps(item.getId(), at(20), at(30)));
+        assertFalse(intervalIndex.overlaps(item.getId(), at(0), at(10)));
+        assertFalse(intervalIndex.overlaps(item.getId(), at(40), at(45)));
+        verify(bookingRepository, times(1)).findByItemIdAndStatus(item.getId(), Status.APPROVED);
+    }
+
+    @Test
+    void reserve_whenThousandsOfHistoricalBookings_thenGapsAcceptedAndOverlapsRejected() {
+        List<BookingInterval> history = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            history.add(interval(i, i * 10, i * 10 + 5));
+        }
+        when(bookingRepository.findByItemIdInAndStatus(List.of(item.getId()), Status.APPROVED))
+                .thenReturn(history);
+
+        inTransaction(() -> {
+            intervalIndex.reserve(booking(10_000L, 25_005, 25_010));
+
+            assertThrows(BookingOverlapException.class, () -> intervalIndex.reserve(booking(10_001L, 25_004, 25_006)));
+            assertThrows(BookingOverlapException.class, () -> intervalIndex.reserve(booking(10_002L, 25_009, 25_011)));
+            assertFalse(intervalIndex.overlaps(item.getId(), at(49_995), at(60_000)));
+        });
+        verify(itemRepository, times(1)).lockAllByIdIn(List.of(item.getId()));
+    }
+
+    @Test
+    void preload_whenItemsPreloaded_thenRepositoryNotQueriedPerItem() {
+        when(bookingRepository.findByItemIdInAndStatus(Set.of(item.getId(), 2L), Status.APPROVED))
+                .thenReturn(List.of(interval(1L, 10, 20)));
+
+        intervalIndex.preload(Set.of(item.getId(), 2L));
+
+        assertTrue(intervalIndex.overlaps(item.getId(), at(15), at(25)));
+        assertFalse(intervalIndex.overlaps(2L, at(15), at(25)));
+        verify(bookingRepository, never()).findByItemIdAndStatus(anyLong(), any());
+    }
+
+    @Test
+    void release_whenReservationReleased_thenPeriodAvailableAgain() {
+        when(bookingRepository.findByItemIdInAndStatus(List.of(item.getId()), Status.APPROVED))
+                .thenReturn(List.of());
+        Booking booking = booking(1L, 10, 20);
+
+        intervalIndex.reserve(booking);
+        assertTrue(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+
+        intervalIndex.release(booking);
+        assertFalse(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+    }
+
+    @Test
+    void reserve_whenTransactionRolledBack_thenReservationReleased() {
+        when(bookingRepository.findByItemIdInAndStatus(List.of(item.getId()), Status.APPROVED))
+                .thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            intervalIndex.reserve(booking(1L, 10, 20));
+            assertTrue(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+    }
+
+    @Test
+    void reserve_whenApprovedOnAnotherInstance_thenTreeReloadedUnderLockAndOverlapRejected() {
+        when(bookingRepository.findByItemIdAndStatus(item.getId(), Status.APPROVED))
+                .thenReturn(List.of());
+        when(bookingRepository.findByItemIdInAndStatus(List.of(item.getId()), Status.APPROVED))
+                .thenReturn(List.of(interval(1L, 10, 20)));
+
+        assertFalse(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+
+        inTransaction(() -> assertThrows(BookingOverlapException.class,
+                () -> intervalIndex.reserve(booking(2L, 12, 14))));
+        verify(itemRepository).lockAllByIdIn(List.of(item.getId()));
+        assertTrue(intervalIndex.overlaps(item.getId(), at(12), at(14)));
+    }
+
+    @Test
+    void lockForApproval_whenItemsLockedInTransaction_thenLockedOnceInIdOrder() {
+        when(bookingRepository.findByItemIdInAndStatus(List.of(1L, 2L, 3L), Status.APPROVED))
+                .thenReturn(List.of());
+
+        inTransaction(() -> {
+            intervalIndex.lockForApproval(Set.of(3L, 1L, 2L));
+            intervalIndex.lockForApproval(Set.of(2L));
+            intervalIndex.reserve(booking(1L, 10, 20));
+        });
+
+        verify(itemRepository, times(1)).lockAllByIdIn(any());
+        verify(itemRepository).lockAllByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Booking booking(long id, int startHour, int endHour) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(at(startHour));
+        booking.setEnd(at(endHour));
+        return booking;
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    private static BookingInterval interval(long id, int startHour, int endHour) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return at(startHour);
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return at(endHour);
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingBatchResult;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.common.EmbeddedPostgresConfig;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.exception.BookingOverlapException;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Подтверждение бронирований с проверкой пересечений средствами PostgreSQL (shareit.booking.overlap=postgres).
+ * Данные фиксируются в базе, поэтому тест не транзакционный и удаляет их сам
+ */
+@SpringBootTest(properties = {"shareit.booking.overlap=postgres", "shareit.search.engine=postgres"})
+@Import({ObjectGenerator.class, EmbeddedPostgresConfig.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class PostgresBookingApprovalIT {
+
+    private static final int THREADS = 4;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectGenerator objectGenerator;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(objectGenerator.next(User.class));
+        booker = userService.create(objectGenerator.next(User.class));
+
+        Item newItem = objectGenerator.next(Item.class);
+        newItem.setAvailable(true);
+        newItem.setRequestId(null);
+        item = itemService.create(owner.getId(), newItem);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < THREADS; i++) {
+            Booking booking = objectGenerator.next(Booking.class);
+            booking.setItem(item);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusDays(1).plusHours(i));
+            bookings.add(bookingService.create(booker.getId(), booking));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllById(ids(bookings));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private long approvedCount() {
+        return bookingRepository.findAllById(ids(bookings)).stream()
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .count();
+    }
+
+    @Test
+    void approveAll_whenOverlappingBookingsInOneBatch_thenFirstApprovedAndOthersFailed() {
+        List<BookingBatchResult> results = bookingService.approveAll(owner.getId(), ids(bookings), true);
+
+        assertThat(results.get(0).getBooking(), notNullValue());
+        assertThat(results.subList(1, THREADS), everyItem(hasProperty("error", notNullValue())));
+        assertThat(approvedCount(), equalTo(1L));
+    }
+
+    @Test
+    void approveAll_whenOverlappingBookingsApprovedConcurrently_thenOnlyOneApprovedAndOthersFailed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<BookingBatchResult>>> futures = new ArrayList<>();
+        try {
+            for (Booking booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.approveAll(owner.getId(), List.of(booking.getId()), true);
+                }));
+            }
+            start.countDown();
+
+            List<BookingBatchResult> results = new ArrayList<>();
+            for (Future<List<BookingBatchResult>> future : futures) {
+                results.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(results.stream().filter(result -> result.getBooking() != null).count(), equalTo(1L));
+            assertThat(results.stream().filter(result -> result.getError() != null).count(), equalTo(THREADS - 1L));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(approvedCount(), equalTo(1L));
+    }
+
+    @Test
+    void approve_whenOverlappingBookingsApprovedConcurrently_thenOnlyOneApprovedAndOthersRejected() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Booking booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.approve(owner.getId(), booking.getId(), true);
+                    } catch (BookingOverlapException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(approvedCount(), equalTo(1L));
+        assertThat(rejected.get(), equalTo(THREADS - 1));
+    }
+}
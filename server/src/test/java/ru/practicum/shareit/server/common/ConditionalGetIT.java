@@ -0,0 +1,131 @@
+package ru.practicum.shareit.server.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.common.http.ConditionalGetConfig;
+import ru.practicum.shareit.server.request.controller.ItemRequestController;
+import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.server.common.http.ConditionalGetMetricsFilter.CONDITIONAL_METRIC;
+
+@WebMvcTest({ItemRequestController.class, ItemRequestMapper.class, ObjectGenerator.class})
+@Import({ConditionalGetConfig.class, SimpleMeterRegistry.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ConditionalGetIT {
+
+    private static final long USER_ID = 1L;
+
+    private final ObjectGenerator objectGenerator;
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+
+    @MockBean
+    private ItemRequestService itemRequestService;
+
+    private ItemRequestResponse itemRequestResponse;
+
+    @BeforeEach
+    void setUp() {
+        ItemRequest itemRequest = objectGenerator.next(ItemRequest.class);
+
+        itemRequestResponse = new ItemRequestResponse();
+        itemRequestResponse.setId(1L);
+        itemRequestResponse.setDescription(itemRequest.getDescription());
+        itemRequestResponse.setCreated(itemRequest.getCreated());
+        itemRequestResponse.setItems(Set.of());
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByAuthor_whenNoIfNoneMatch_thenBodyWithETagReturned() {
+        when(itemRequestService.findAllByAuthor(USER_ID))
+                .thenReturn(List.of(itemRequestResponse));
+        double conditionalBefore = conditionalCount();
+
+        mockMvc.perform(get("/requests")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        assertThat(conditionalCount(), equalTo(conditionalBefore));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByAuthor_whenETagMatches_thenNotModifiedReturned() {
+        when(itemRequestService.findAllByAuthor(USER_ID))
+                .thenReturn(List.of(itemRequestResponse));
+        String etag = etag();
+
+        mockMvc.perform(get("/requests")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        assertThat(meterRegistry.counter(CONDITIONAL_METRIC, "result", "hit").count(), equalTo(1.0));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByAuthor_whenContentChanged_thenNewBodyReturned() {
+        when(itemRequestService.findAllByAuthor(USER_ID))
+                .thenReturn(List.of(itemRequestResponse));
+        String etag = etag();
+
+        itemRequestResponse.setDescription(itemRequestResponse.getDescription() + " изменено");
+
+        mockMvc.perform(get("/requests")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$[0].description", containsString("изменено")));
+
+        assertThat(meterRegistry.counter(CONDITIONAL_METRIC, "result", "miss").count(), equalTo(1.0));
+    }
+
+    @SneakyThrows
+    private String etag() {
+        return mockMvc.perform(get("/requests")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private double conditionalCount() {
+        return meterRegistry.find(CONDITIONAL_METRIC).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
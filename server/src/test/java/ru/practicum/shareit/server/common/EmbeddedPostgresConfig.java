@@ -0,0 +1,31 @@
+package ru.practicum.shareit.server.common;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Настоящий PostgreSQL для проверки запросов и ограничений, которых нет в H2.
+ * Подключается вместе с {@code @AutoConfigureTestDatabase(replace = Replace.NONE)},
+ * схему создаёт Flyway вместе с миграциями из db/vendor/postgresql.
+ * Кодировка UTF8 обязательна: в SQL_ASCII ilike и to_tsvector не различают регистр кириллицы
+ */
+@TestConfiguration
+public class EmbeddedPostgresConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.builder()
+                .setLocaleConfig("encoding", "UTF8")
+                .setLocaleConfig("locale", "C.UTF-8")
+                .start();
+    }
+
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        return embeddedPostgres.getPostgresDatabase();
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.server.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.common.exception.ConflictException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticLockRetryTest {
+
+    private static final String OPERATION = "test.operation";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @BeforeEach
+    void setUp() {
+        optimisticLockRetry = new OptimisticLockRetry(TransactionOperations.withoutTransaction(), meterRegistry, 3);
+    }
+
+    @Test
+    void execute_whenConflictOnFirstAttempt_thenRetriedAndResultReturned() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = optimisticLockRetry.execute(OPERATION, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+            }
+            return "saved";
+        });
+
+        assertThat(result, equalTo("saved"));
+        assertThat(attempts.get(), equalTo(2));
+        assertThat(count(OptimisticLockRetry.CONFLICTS_METRIC), equalTo(1.0));
+        assertThat(meterRegistry.find(OptimisticLockRetry.FAILURES_METRIC).counter() == null, equalTo(true));
+    }
+
+    @Test
+    void execute_whenConflictOnEveryAttempt_thenConflictExceptionThrown() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConflictException.class, () -> optimisticLockRetry.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+        }));
+
+        assertThat(attempts.get(), equalTo(3));
+        assertThat(count(OptimisticLockRetry.CONFLICTS_METRIC), equalTo(3.0));
+        assertThat(count(OptimisticLockRetry.FAILURES_METRIC), equalTo(1.0));
+    }
+
+    @Test
+    void execute_whenOtherExceptionThrown_thenNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> optimisticLockRetry.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        }));
+
+        assertThat(attempts.get(), equalTo(1));
+    }
+
+    private double count(String metric) {
+        return meterRegistry.get(metric).tag("operation", OPERATION).counter().count();
+    }
+}
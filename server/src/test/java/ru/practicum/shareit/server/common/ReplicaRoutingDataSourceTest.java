@@ -0,0 +1,105 @@
+package ru.practicum.shareit.server.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.common.datasource.ReplicaDataSource;
+import ru.practicum.shareit.server.common.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection firstReplicaConnection = mock(Connection.class);
+
+    private final Connection secondReplicaConnection = mock(Connection.class);
+
+    private ReplicaDataSource firstReplica;
+
+    private ReplicaDataSource secondReplica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        firstReplica = new ReplicaDataSource("replica-0", dataSource(firstReplicaConnection));
+        secondReplica = new ReplicaDataSource("replica-1", dataSource(secondReplicaConnection));
+        routingDataSource = new ReplicaRoutingDataSource(
+                dataSource(primaryConnection),
+                List.of(firstReplica, secondReplica)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_whenNotReadOnly_thenPrimaryUsed() throws SQLException {
+        assertThat(routingDataSource.getConnection(), sameInstance(primaryConnection));
+    }
+
+    @Test
+    void getConnection_whenReadOnly_thenReplicasUsedInTurn() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), sameInstance(firstReplicaConnection));
+        assertThat(routingDataSource.getConnection(), sameInstance(secondReplicaConnection));
+        assertThat(routingDataSource.getConnection(), sameInstance(firstReplicaConnection));
+    }
+
+    @Test
+    void getConnection_whenReplicaLagsBehind_thenOtherReplicaUsed() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+
+        boolean changed = firstReplica.lagMeasured(30, MAX_LAG);
+
+        assertThat(changed, equalTo(true));
+        assertThat(routingDataSource.getConnection(), sameInstance(secondReplicaConnection));
+        assertThat(routingDataSource.getConnection(), sameInstance(secondReplicaConnection));
+    }
+
+    @Test
+    void getConnection_whenAllReplicasUnavailable_thenPrimaryUsed() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+
+        firstReplica.lagMeasured(30, MAX_LAG);
+        secondReplica.lagUnknown();
+
+        assertThat(routingDataSource.getConnection(), sameInstance(primaryConnection));
+    }
+
+    @Test
+    void getConnection_whenReplicaCaughtUp_thenReplicaUsedAgain() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+        firstReplica.lagUnknown();
+        secondReplica.lagUnknown();
+
+        boolean changed = firstReplica.lagMeasured(1, MAX_LAG);
+
+        assertThat(changed, equalTo(true));
+        assertThat(routingDataSource.getConnection(), sameInstance(firstReplicaConnection));
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.server.common;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Подсчёт SQL-запросов действия по статистике Hibernate. Перед действием изменения сбрасываются в базу,
+ * а контекст персистентности очищается, чтобы действие читало данные из базы, а не из контекста.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementCounter {
+
+    private final EntityManager entityManager;
+
+    public long count(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.common.http.WireCodec;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WireCodecTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private final List<Map<String, Object>> page = List.of(
+            Map.of("id", 1, "name", "Дрель", "available", true, "created", "2026-10-18T10:15:30"),
+            Map.of("id", 2, "name", "Отвёртка", "available", false, "created", "2026-10-18T10:16:00")
+    );
+
+    @Test
+    void gunzip_whenGzipped_thenOriginalBodyReturned() {
+        byte[] body = "[{\"id\":1},{\"id\":1},{\"id\":1},{\"id\":1}]".repeat(50).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = WireCodec.gzip(body);
+
+        assertThat(compressed.length, lessThan(body.length));
+        assertThat(WireCodec.gunzip(compressed), equalTo(body));
+    }
+
+    @Test
+    void gunzip_whenNotGzipped_thenUncheckedIOExceptionThrown() {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UncheckedIOException.class, () -> WireCodec.gunzip(body));
+    }
+
+    @Test
+    void smileToJson_whenSmile_thenSameJsonReturned() throws Exception {
+        byte[] smile = smileMapper.writeValueAsBytes(page);
+
+        byte[] json = WireCodec.smileToJson(smile);
+
+        assertThat(jsonMapper.readTree(json), equalTo(jsonMapper.valueToTree(page)));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.server.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.common.http.SmileConfig;
+import ru.practicum.shareit.server.common.http.WireCodec;
+import ru.practicum.shareit.server.common.http.WireFormat;
+import ru.practicum.shareit.server.request.controller.ItemRequestController;
+import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({ItemRequestController.class, ItemRequestMapper.class, ObjectGenerator.class})
+@Import(SmileConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WireFormatIT {
+
+    private static final long USER_ID = 1L;
+
+    private final ObjectGenerator objectGenerator;
+    private final ObjectMapper objectMapper;
+    private final MockMvc mockMvc;
+
+    @MockBean
+    private ItemRequestService itemRequestService;
+
+    private ItemRequestResponse itemRequestResponse;
+
+    @BeforeEach
+    void setUp() {
+        ItemRequest itemRequest = objectGenerator.next(ItemRequest.class);
+
+        itemRequestResponse = new ItemRequestResponse();
+        itemRequestResponse.setId(1L);
+        itemRequestResponse.setDescription(itemRequest.getDescription());
+        itemRequestResponse.setCreated(itemRequest.getCreated());
+        itemRequestResponse.setItems(Set.of());
+
+        when(itemRequestService.findAllByAuthor(USER_ID))
+                .thenReturn(List.of(itemRequestResponse));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByAuthor_whenSmileAccepted_thenSmileWithJsonContentReturned() {
+        MediaType smile = WireFormat.SMILE.getMediaType();
+
+        byte[] body = mockMvc.perform(get("/requests")
+                        .accept(smile, MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(List.of(itemRequestResponse)));
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(body), equalTo(expected));
+        assertThat(objectMapper.readTree(WireCodec.smileToJson(body)), equalTo(expected));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByAuthor_whenJsonAccepted_thenJsonReturned() {
+        mockMvc.perform(get("/requests")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.server.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.InMemoryItemSearchEngine;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    private final ObjectGenerator objectGenerator = new ObjectGenerator();
+
+    private final PageRequest pageRequest = PageRequest.of(0, 50);
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InMemoryItemSearchEngine searchEngine;
+
+    private Item item11;
+    private Item item12;
+    private Item item21;
+    private Item item22;
+
+    @BeforeEach
+    void setUp() {
+        item11 = objectGenerator.next(Item.class);
+        item12 = objectGenerator.next(Item.class);
+        item21 = objectGenerator.next(Item.class);
+        item22 = objectGenerator.next(Item.class);
+
+        item11.setId(1L);
+        item12.setId(2L);
+        item21.setId(3L);
+        item22.setId(4L);
+
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setDescription("Просто дрель");
+        item21.setDescription("Горный велосипед");
+        item22.setDescription("Газонокосилка");
+    }
+
+    private void indexAll() {
+        searchEngine.index(item11);
+        searchEngine.index(item12);
+        searchEngine.index(item21);
+        searchEngine.index(item22);
+    }
+
+    @Test
+    void search_whenTwoItemMatchCriteriaAndTwoAvailable_thenTwoItemReturned() {
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, containsInAnyOrder(item11.getId(), item12.getId()));
+    }
+
+    @Test
+    void search_whenTwoItemMatchCriteriaAndOnlyOneAvailable_thenOneItemReturned() {
+        item12.setAvailable(false);
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, contains(item11.getId()));
+    }
+
+    @Test
+    void search_whenItemMatchCaseInsensitiveCriteria_thenOneItemReturned() {
+        searchEngine.index(item11);
+
+        List<Long> actualIds = searchEngine.search("дРеЛь", pageRequest);
+
+        assertThat(actualIds, contains(item11.getId()));
+    }
+
+    @Test
+    void search_whenSubstringInsideWord_thenItemReturned() {
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("косил", pageRequest);
+
+        assertThat(actualIds, contains(item22.getId()));
+    }
+
+    @Test
+    void search_whenShortSubstring_thenItemReturned() {
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("ел", pageRequest);
+
+        assertThat(actualIds, contains(item11.getId(), item12.getId(), item21.getId()));
+    }
+
+    @Test
+    void search_whenMatchInNameAndDescription_thenNameMatchRankedFirst() {
+        item11.setName("Дрель");
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, contains(item11.getId(), item12.getId()));
+    }
+
+    @Test
+    void search_whenItemUpdated_thenOldTextNotFound() {
+        indexAll();
+        item11.setDescription("Перфоратор");
+        searchEngine.index(item11);
+
+        assertThat(searchEngine.search("дрель", pageRequest), contains(item12.getId()));
+        assertThat(searchEngine.search("перфоратор", pageRequest), contains(item11.getId()));
+    }
+
+    @Test
+    void search_whenPageRequested_thenOnlyPageReturned() {
+        indexAll();
+
+        List<Long> actualIds = searchEngine.search("дрель", PageRequest.of(1, 1));
+
+        assertThat(actualIds, contains(item12.getId()));
+    }
+
+    @Test
+    void search_whenSearchStringIsNullOrEmpty_thenEmptyListReturned() {
+        indexAll();
+
+        assertThat(searchEngine.search(null, pageRequest), hasSize(0));
+        assertThat(searchEngine.search("", pageRequest), hasSize(0));
+    }
+
+    @Test
+    void index_whenInsideTransaction_thenItemSearchableAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(item11);
+            assertThat(searchEngine.search("дрель", pageRequest), empty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(searchEngine.search("дрель", pageRequest), contains(item11.getId()));
+    }
+
+    @Test
+    void index_whenTransactionRolledBack_thenItemNotIndexed() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(item11);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(searchEngine.search("дрель", pageRequest), empty());
+    }
+
+    @Test
+    void rebuild_whenItemsStored_thenIndexLoadedFromRepository() {
+        when(itemRepository.findAll())
+                .thenReturn(List.of(item11, item12, item21, item22));
+
+        searchEngine.rebuild();
+
+        assertThat(searchEngine.search("велосипед", pageRequest), contains(item21.getId()));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.server.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.item.dto.CommentMapper;
+import ru.practicum.shareit.server.item.dto.CommentResponse;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.CommentView;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCommentLoaderTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private ItemCommentLoader itemCommentLoader;
+
+    @BeforeEach
+    void setUp() {
+        itemCommentLoader = new ItemCommentLoader(commentRepository, Mappers.getMapper(CommentMapper.class));
+    }
+
+    @Test
+    void fill_whenItemsRepeatInPage_thenCommentsLoadedOnceAndAssignedToEachItem() {
+        ItemResponse first = itemResponse(1L);
+        ItemResponse firstAgain = itemResponse(1L);
+        ItemResponse second = itemResponse(2L);
+
+        when(commentRepository.findViewsByItemIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(
+                        new CommentView(10L, 1L, "first", "author", CREATED),
+                        new CommentView(11L, 1L, "second", "another author", CREATED)
+                ));
+
+        itemCommentLoader.fill(List.of(first, firstAgain, second));
+
+        verify(commentRepository, times(1)).findViewsByItemIdIn(anyCollection());
+        assertThat(first.getComments().stream().map(CommentResponse::getId).toArray(), arrayContaining(10L, 11L));
+        assertThat(first.getComments().iterator().next().getAuthorName(), is("author"));
+        assertThat(firstAgain.getComments(), hasSize(2));
+        assertThat(second.getComments(), empty());
+    }
+
+    @Test
+    void fill_whenNoItems_thenRepositoryNotCalled() {
+        itemCommentLoader.fill(List.of());
+
+        verifyNoInteractions(commentRepository);
+    }
+
+    private static ItemResponse itemResponse(long id) {
+        ItemResponse itemResponse = new ItemResponse();
+        itemResponse.setId(id);
+        return itemResponse;
+    }
+}
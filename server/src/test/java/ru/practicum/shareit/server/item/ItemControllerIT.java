@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.booking.model.Booking;
@@ -17,6 +19,7 @@ import ru.practicum.shareit.server.item.controller.ItemController;
 import ru.practicum.shareit.server.item.dto.*;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
 import ru.practicum.shareit.server.item.service.ItemService;
 import ru.practicum.shareit.server.user.model.User;
 
@@ -26,19 +29,22 @@ import java.util.Set;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.server.common.Constants.*;
 
-@WebMvcTest({ItemController.class, ItemMapper.class, CommentMapper.class, ObjectGenerator.class})
+@WebMvcTest({ItemController.class, ItemMapper.class, CommentMapper.class, ItemResponseCache.class, ObjectGenerator.class})
+@Import(SimpleMeterRegistry.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemControllerIT {
 
     private final ObjectMapper objectMapper;
     private final ObjectGenerator objectGenerator;
     private final MockMvc mockMvc;
+    private final ItemMapper mapper;
 
     @MockBean
     private ItemService itemService;
@@ -86,7 +92,7 @@ class ItemControllerIT {
         int size = 50;
 
         when(itemService.findAllByUserId(userId, from, size))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(mapper.mapToResponseEntity(item)));
 
         mockMvc.perform(get("/items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -112,7 +118,7 @@ class ItemControllerIT {
                 "Required request header 'X-Sharer-User-Id' for method parameter type Long is not present";
 
         when(itemService.findAllByUserId(userId, from, size))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(mapper.mapToResponseEntity(item)));
 
         mockMvc.perform(get("/items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -287,6 +293,34 @@ class ItemControllerIT {
         verify(itemService).findAllByName(substring, from, size);
     }
 
+    @SneakyThrows
+    @Test
+    void search_whenItemHasBookings_thenItemBookingsNotReturned() {
+        long userId = owner.getId();
+        int from = 0;
+        int size = 50;
+        String substring = "text";
+        item.setNextBooking(booking);
+
+        when(itemService.findAllByName(substring, from, size))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(get("/items/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_HEADER, userId)
+                        .param("text", substring)
+                        .param("from", Integer.toString(from))
+                        .param("size", Integer.toString(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(item.getId()), Long.class))
+                .andExpect(jsonPath("$[0].lastBooking", nullValue()))
+                .andExpect(jsonPath("$[0].nextBooking", nullValue()));
+
+        verify(itemService).findAllByName(substring, from, size);
+    }
+
     @SneakyThrows
     @Test
     void addComment_whenValidRequest_thenListOfItemReturned() {
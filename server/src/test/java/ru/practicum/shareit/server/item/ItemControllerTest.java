@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +15,11 @@ import ru.practicum.shareit.server.item.controller.ItemController;
 import ru.practicum.shareit.server.item.dto.*;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
 import ru.practicum.shareit.server.item.service.ItemService;
 import ru.practicum.shareit.server.user.model.User;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -41,6 +44,10 @@ class ItemControllerTest {
     @Spy
     private CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
 
+    @Spy
+    private ItemResponseCache itemResponseCache =
+            new ItemResponseCache(mapper, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
     private ItemCreateRequest itemCreateRequest;
     private ItemUpdateRequest itemUpdateRequest;
     private CommentCreateRequest commentCreateRequest;
@@ -81,8 +88,9 @@ class ItemControllerTest {
         long userId = owner.getId();
         int from = 0;
         int size = 50;
+        ItemResponse itemResponse = mapper.mapToResponseEntity(item);
         when(itemService.findAllByUserId(userId, from, size))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(itemResponse));
 
         List<ItemResponse> response = controller.findAllByUserId(userId, from, size);
 
@@ -10,16 +10,18 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.repository.ItemBookingView;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.common.ObjectGenerator;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemListView;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -69,138 +71,40 @@ class ItemRepositoryIT {
         itemRepository.save(item22);
         PageRequest pageRequest = PageRequest.of(0, 50);
 
-        List<Item> actualItems = itemRepository.findAllByOwnerIdOrderById(owner2.getId(), pageRequest).getContent();
+        List<ItemListView> actualItems = itemRepository.findViewsByOwnerId(owner2.getId(), pageRequest);
 
-        assertThat(actualItems, contains(item21, item22));
+        assertThat(actualItems.stream().map(ItemListView::getId).collect(Collectors.toList()),
+                contains(item21.getId(), item22.getId()));
+        assertThat(actualItems.get(0).getName(), is(item21.getName()));
     }
 
     @Test
-    void findAvailableBySubstring_whenTwoItemMatchCriteriaAndTwoAvailable_thenTwoItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setDescription("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(true);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11, item12));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenTwoItemMatchCriteriaAndOnlyOneAvailable_thenOneItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setDescription("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(false);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenItemMatchCaseInsensitiveCriteriaAndAvailable_thenOneItemReturned() {
-        String searchString = "дРеЛь";
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenSearchStringIsNull_thenEmptyListReturned() {
-        String searchString = null;
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, hasSize(0));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenTwoItemsMatchCriteriaInNameOrDescriptionAndAvailable_thenTwoItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setName("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(true);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11, item12));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenSearchStringIsEmpty_thenEmptyListReturned() {
-        String searchString = "";
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAllByNameContainingIgnoreCase(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, hasSize(0));
-    }
-
-    @Test
-    void findById_whenBookingExists_thenItemWithNextBookingAndLastBookingReturned() {
+    void findLastAndNextByItemIds_whenBookingsExist_thenLastAndNextBookingReturned() {
         User booker = objectGenerator.next(User.class);
         userRepository.save(booker);
 
         itemRepository.save(item11);
+        itemRepository.save(item12);
 
         Booking booking11 = objectGenerator.next(Booking.class);
         Booking booking12 = objectGenerator.next(Booking.class);
         Booking booking13 = objectGenerator.next(Booking.class);
+        Booking booking14 = objectGenerator.next(Booking.class);
 
         booking11.setItem(item11);
         booking12.setItem(item11);
         booking13.setItem(item11);
+        booking14.setItem(item11);
 
         booking11.setBooker(booker);
         booking12.setBooker(booker);
         booking13.setBooker(booker);
+        booking14.setBooker(booker);
 
         booking11.setStatus(Status.APPROVED);
         booking12.setStatus(Status.APPROVED);
         booking13.setStatus(Status.APPROVED);
+        booking14.setStatus(Status.REJECTED);
 
         final LocalDateTime CURRENT_DATE = LocalDateTime.now();
 
@@ -213,16 +117,26 @@ class ItemRepositoryIT {
         booking13.setStart(CURRENT_DATE.plusMonths(1));
         booking13.setEnd(CURRENT_DATE.plusMonths(1).plusDays(1));
 
+        booking14.setStart(CURRENT_DATE.plusDays(1));
+        booking14.setEnd(CURRENT_DATE.plusDays(2));
+
         bookingRepository.save(booking11);
         bookingRepository.save(booking12);
         bookingRepository.save(booking13);
+        bookingRepository.save(booking14);
 
         testEntityManager.clear();
 
-        Optional<Item> actualItem = itemRepository.findById(item11.getId());
-
-        assertThat(actualItem.isPresent(), is(true));
-        assertThat(actualItem.get().getLastBooking(), equalTo(booking12));
-        assertThat(actualItem.get().getNextBooking(), equalTo(booking13));
+        List<ItemBookingView> views = bookingRepository
+                .findLastAndNextByItemIds(List.of(item11.getId(), item12.getId()), CURRENT_DATE);
+
+        assertThat(views, hasSize(2));
+        ItemBookingView last = views.stream().filter(ItemBookingView::getLast).findFirst().orElseThrow();
+        ItemBookingView next = views.stream().filter(view -> !view.getLast()).findFirst().orElseThrow();
+        assertThat(last.getItemId(), equalTo(item11.getId()));
+        assertThat(last.getBookingId(), equalTo(booking12.getId()));
+        assertThat(last.getBookerId(), equalTo(booker.getId()));
+        assertThat(next.getItemId(), equalTo(item11.getId()));
+        assertThat(next.getBookingId(), equalTo(booking13.getId()));
     }
 }
\ No newline at end of file
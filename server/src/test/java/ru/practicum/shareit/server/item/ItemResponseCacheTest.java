@@ -0,0 +1,161 @@
+package ru.practicum.shareit.server.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemResponseCacheTest {
+
+    private final ObjectGenerator objectGenerator = new ObjectGenerator();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ItemService itemService;
+
+    private ItemResponseCache itemResponseCache;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        itemResponseCache = new ItemResponseCache(
+                Mappers.getMapper(ItemMapper.class), meterRegistry, 100, Duration.ofMinutes(1));
+
+        owner = objectGenerator.next(User.class);
+        User booker = objectGenerator.next(User.class);
+        item = objectGenerator.next(Item.class);
+        Booking booking = objectGenerator.next(Booking.class);
+
+        owner.setId(1L);
+        booker.setId(2L);
+        item.setId(1L);
+        item.setOwner(owner);
+        item.setComments(Set.of());
+        booking.setId(1L);
+        booking.setBooker(booker);
+        item.setLastBooking(booking);
+        item.setNextBooking(booking);
+    }
+
+    @Test
+    void get_whenCalledTwice_thenItemLoadedOnce() {
+        when(itemService.findById(item.getId()))
+                .thenReturn(item);
+
+        ItemResponse first = itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+        ItemResponse second = itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+
+        assertThat(first.getName(), equalTo(item.getName()));
+        assertThat(second, sameInstance(first));
+        verify(itemService, times(1)).findById(item.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ItemResponseCache.NAME).tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void get_whenOwnerAndOtherUser_thenBookingsVisibleOnlyToOwner() {
+        when(itemService.findById(item.getId()))
+                .thenReturn(item);
+
+        ItemResponse ownerView = itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+        ItemResponse publicView = itemResponseCache.get(item.getId(), 2L, itemService::findById);
+
+        assertThat(ownerView.getLastBooking().getId(), equalTo(1L));
+        assertThat(ownerView.getNextBooking().getBookerId(), equalTo(2L));
+        assertThat(publicView.getLastBooking(), nullValue());
+        assertThat(publicView.getNextBooking(), nullValue());
+        assertThat(publicView.getName(), equalTo(item.getName()));
+        verify(itemService, times(1)).findById(item.getId());
+    }
+
+    @Test
+    void get_whenItemNotExists_thenExceptionThrownAndNotCached() {
+        long itemId = 2L;
+        when(itemService.findById(itemId))
+                .thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class, () -> itemResponseCache.get(itemId, owner.getId(), itemService::findById));
+        assertThrows(NotFoundException.class, () -> itemResponseCache.get(itemId, owner.getId(), itemService::findById));
+
+        verify(itemService, times(2)).findById(itemId);
+    }
+
+    @Test
+    void evict_whenItemCached_thenItemLoadedAgain() {
+        when(itemService.findById(item.getId()))
+                .thenReturn(item);
+
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+        itemResponseCache.evict(item.getId());
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+
+        verify(itemService, times(2)).findById(item.getId());
+    }
+
+    @Test
+    void evict_whenInsideTransaction_thenItemEvictedOnlyAfterCommit() {
+        when(itemService.findById(item.getId()))
+                .thenReturn(item);
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemResponseCache.evict(item.getId());
+            itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+            verify(itemService, times(1)).findById(item.getId());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+        verify(itemService, times(2)).findById(item.getId());
+    }
+
+    @Test
+    void evict_whenTransactionRolledBack_thenItemStaysCached() {
+        when(itemService.findById(item.getId()))
+                .thenReturn(item);
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemResponseCache.evict(item.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        itemResponseCache.get(item.getId(), owner.getId(), itemService::findById);
+        verify(itemService, times(1)).findById(item.getId());
+    }
+}
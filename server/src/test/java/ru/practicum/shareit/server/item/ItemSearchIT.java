@@ -0,0 +1,120 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Поисковый индекс в памяти обновляется после фиксации транзакции, поэтому тест не транзакционный
+ * и удаляет созданные данные сам. Уникальная метка в тексте вещей отделяет их от данных других тестов
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchIT {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemSearchEngine searchEngine;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectGenerator objectGenerator;
+
+    private final List<Item> items = new ArrayList<>();
+
+    private String tag;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        tag = UUID.randomUUID().toString().replace("-", "");
+        owner = userService.create(objectGenerator.next(User.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAllById(items.stream().map(Item::getId).collect(Collectors.toList()));
+        userRepository.deleteById(owner.getId());
+    }
+
+    private Item newItem(String name, String description) {
+        Item item = objectGenerator.next(Item.class);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+
+    private Item create(String name, String description) {
+        Item item = itemService.create(owner.getId(), newItem(name, description));
+        items.add(item);
+        return item;
+    }
+
+    @Test
+    void findAvailableBySubstring_whenItemContainsInDescription_thenListOfItemsReturned() {
+        Item item = create("item", "item description " + tag);
+
+        List<Item> foundItems = itemService.findAllByName(tag, 0, 10);
+
+        assertThat(foundItems, contains(item));
+    }
+
+    @Test
+    void findAvailableBySubstring_whenItemContainsInName_thenListOfItemsReturned() {
+        Item item = create("item name " + tag, "item description");
+
+        List<Item> foundItems = itemService.findAllByName(tag, 0, 10);
+
+        assertThat(foundItems, contains(item));
+    }
+
+    @Test
+    void findAvailableBySubstring_whenItemUpdated_thenSearchedByNewText() {
+        Item item = create("item name", "item description");
+        Item itemUpdate = new Item();
+        itemUpdate.setName("item name " + tag);
+
+        itemService.update(owner.getId(), item.getId(), itemUpdate);
+
+        assertThat(itemService.findAllByName(tag, 0, 10), contains(hasProperty("id", is(item.getId()))));
+    }
+
+    @Test
+    void findAvailableBySubstring_whenItemCreationRolledBack_thenItemNotFound() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.create(owner.getId(), newItem("item name " + tag, "item description"));
+            status.setRollbackOnly();
+        });
+
+        List<Long> foundIds = searchEngine.search(tag, PageRequest.of(0, 10));
+
+        assertThat(foundIds, empty());
+    }
+}
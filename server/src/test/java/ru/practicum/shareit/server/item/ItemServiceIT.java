@@ -13,29 +13,44 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.service.BookingService;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.StatementCounter;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.service.ItemServiceImpl;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 
 @SpringBootTest
-@Import(ObjectGenerator.class)
+@Import({ObjectGenerator.class, StatementCounter.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @AutoConfigureTestDatabase
 @Transactional
 @Rollback
 class ItemServiceIT {
 
+    /**
+     * Страница больше размера пакета @BatchSize коллекции комментариев вещи
+     */
+    private static final int PAGE_SIZE = 60;
+
+    /**
+     * Проекция страницы вещей, последние и ближайшие бронирования, комментарии вещей с авторами
+     */
+    private static final long MAX_PAGE_STATEMENTS = 3;
+
     private final ObjectGenerator objectGenerator;
     private final ItemServiceImpl itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final StatementCounter statementCounter;
 
     private User owner;
     private User booker;
@@ -65,9 +80,32 @@ class ItemServiceIT {
         int from = 0;
         int size = 10;
 
-        List<Item> foundItems = itemService.findAllByUserId(userId, from, size);
+        List<ItemResponse> foundItems = itemService.findAllByUserId(userId, from, size);
+
+        MatcherAssert.assertThat(foundItems, contains(hasProperty("id", is(item.getId()))));
+        MatcherAssert.assertThat(foundItems.get(0).getComments(), empty());
+    }
 
-        MatcherAssert.assertThat(foundItems, contains(item));
+    @Test
+    void getByUserId_whenPageOfItemsWithComments_thenCommentsLoadedInOneQuery() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item ownerItem = objectGenerator.next(Item.class);
+            ownerItem.setOwner(owner);
+            persist(ownerItem);
+            persistComment(ownerItem);
+            persistComment(ownerItem);
+        }
+
+        long statements = statementCounter.count(() -> {
+            List<ItemResponse> foundItems = itemService.findAllByUserId(owner.getId(), 0, PAGE_SIZE);
+
+            MatcherAssert.assertThat(foundItems, hasSize(PAGE_SIZE));
+            MatcherAssert.assertThat(foundItems.get(PAGE_SIZE - 1).getComments(), hasSize(2));
+            MatcherAssert.assertThat(foundItems.get(PAGE_SIZE - 1).getComments(),
+                    everyItem(hasProperty("authorName", notNullValue())));
+        });
+
+        MatcherAssert.assertThat(statements, lessThanOrEqualTo(MAX_PAGE_STATEMENTS));
     }
 
     @Test
@@ -96,28 +134,6 @@ class ItemServiceIT {
         MatcherAssert.assertThat(updatedItem.getAvailable(), equalTo(updateItem.getAvailable()));
     }
 
-    @Test
-    void findAvailableBySubstring_whenItemContainsInDescription_thenListOfItemsReturned() {
-        String search = "description";
-        int from = 0;
-        int size = 10;
-
-        List<Item> foundItems = itemService.findAllByName(search, from, size);
-
-        MatcherAssert.assertThat(foundItems, contains(item));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenItemContainsInName_thenListOfItemsReturned() {
-        String search = "name";
-        int from = 0;
-        int size = 10;
-
-        List<Item> foundItems = itemService.findAllByName(search, from, size);
-
-        MatcherAssert.assertThat(foundItems, contains(item));
-    }
-
     @Test
     void addComment() {
         long userId = booker.getId();
@@ -133,4 +149,19 @@ class ItemServiceIT {
 
         MatcherAssert.assertThat(createdComment.getId(), greaterThan(0L));
     }
-}
\ No newline at end of file
+
+    /**
+     * Комментарий вещи от отдельного автора
+     */
+    private void persistComment(Item commentedItem) {
+        Comment itemComment = objectGenerator.next(Comment.class);
+        itemComment.setItem(commentedItem);
+        itemComment.setAuthor(persist(objectGenerator.next(User.class)));
+        persist(itemComment);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
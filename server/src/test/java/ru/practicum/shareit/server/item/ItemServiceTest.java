@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,29 +10,41 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.repository.ItemBookingView;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.OptimisticLockRetry;
 import ru.practicum.shareit.server.common.exception.BadRequestException;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.ItemListView;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+import ru.practicum.shareit.server.item.service.ItemResponseCache;
 import ru.practicum.shareit.server.item.service.ItemServiceImpl;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.notification.model.NotificationType;
+import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -45,7 +58,7 @@ class ItemServiceTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserCache userCache;
 
     @Mock
     private BookingRepository bookingRepository;
@@ -53,6 +66,25 @@ class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemResponseCache itemResponseCache;
+
+    @Mock
+    private ItemCommentLoader itemCommentLoader;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private OptimisticLockRetry optimisticLockRetry =
+            new OptimisticLockRetry(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), 3);
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -63,6 +95,7 @@ class ItemServiceTest {
     private User user;
     private Comment comment;
     private Booking booking;
+    private ItemListView itemView;
 
     @BeforeEach
     void setUp() {
@@ -75,6 +108,9 @@ class ItemServiceTest {
         item.setId(1L);
         comment.setId(1L);
         booking.setId((1L));
+
+        itemView = new ItemListView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId());
     }
 
     @Test
@@ -83,14 +119,48 @@ class ItemServiceTest {
         int from = 0;
         int size = 10;
 
-        List<Item> expectedItemList = Collections.singletonList(item);
-        when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any()))
-                .thenReturn(new PageImpl<>(expectedItemList));
+        when(itemRepository.findViewsByOwnerId(anyLong(), any()))
+                .thenReturn(List.of(itemView));
+
+        List<ItemResponse> actualItemList = itemService.findAllByUserId(userId, from, size);
+
+        verify(itemRepository).findViewsByOwnerId(anyLong(), any());
+        verify(itemCommentLoader).fill(actualItemList);
+        MatcherAssert.assertThat(actualItemList, hasSize(1));
+        MatcherAssert.assertThat(actualItemList.get(0).getId(), equalTo(item.getId()));
+        MatcherAssert.assertThat(actualItemList.get(0).getName(), equalTo(item.getName()));
+    }
 
-        List<Item> actualItemList = itemService.findAllByUserId(userId, from, size);
+    @Test
+    void getByUserId_whenApprovedBookingsExist_thenLastAndNextBookingFilled() {
+        long userId = 1L;
+        int from = 0;
+        int size = 10;
 
-        verify(itemRepository).findAllByOwnerIdOrderById(anyLong(), any());
-        assertEquals(expectedItemList, actualItemList);
+        ItemBookingView last = mock(ItemBookingView.class);
+        when(last.getItemId()).thenReturn(item.getId());
+        when(last.getBookingId()).thenReturn(10L);
+        when(last.getBookerId()).thenReturn(2L);
+        when(last.getLast()).thenReturn(true);
+
+        ItemBookingView next = mock(ItemBookingView.class);
+        when(next.getItemId()).thenReturn(item.getId());
+        when(next.getBookingId()).thenReturn(11L);
+        when(next.getBookerId()).thenReturn(3L);
+        when(next.getLast()).thenReturn(false);
+
+        when(itemRepository.findViewsByOwnerId(anyLong(), any()))
+                .thenReturn(List.of(itemView));
+        when(bookingRepository.findLastAndNextByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(last, next));
+
+        List<ItemResponse> actualItemList = itemService.findAllByUserId(userId, from, size);
+
+        verify(bookingRepository, times(1)).findLastAndNextByItemIds(anyCollection(), any(LocalDateTime.class));
+        MatcherAssert.assertThat(actualItemList.get(0).getLastBooking().getId(), equalTo(10L));
+        MatcherAssert.assertThat(actualItemList.get(0).getLastBooking().getBookerId(), equalTo(2L));
+        MatcherAssert.assertThat(actualItemList.get(0).getNextBooking().getId(), equalTo(11L));
+        MatcherAssert.assertThat(actualItemList.get(0).getNextBooking().getBookerId(), equalTo(3L));
     }
 
     @Test
@@ -122,28 +192,50 @@ class ItemServiceTest {
     void create_whenUserExists_thenCreatedItemReturned() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRepository.save(item))
                 .thenReturn(item);
 
         Item createdItem = itemService.create(userId, item);
 
         MatcherAssert.assertThat(createdItem.getOwner(), equalTo(user));
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).save(item);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void create_whenItemAnswersRequest_thenRequestAuthorNotified() {
+        long userId = 1L;
+        long requestAuthorId = 2L;
+        item.setRequestId(3L);
+
+        when(userCache.getById(userId))
+                .thenReturn(user);
+        when(itemRepository.save(item))
+                .thenReturn(item);
+        when(itemRequestRepository.findAuthorIdById(item.getRequestId()))
+                .thenReturn(Optional.of(requestAuthorId));
+
+        itemService.create(userId, item);
+
+        verify(eventPublisher).publishEvent(argThat((Notification notification) ->
+                notification.getUserId() == requestAuthorId
+                        && notification.getType() == NotificationType.REQUEST_ITEM_ADDED
+                        && notification.getRequestId() == 3L));
     }
 
     @Test
     void create_whenUserNotExists_thenEntityNotFoundExceptionThrown() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> itemService.create(userId, item));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository, never()).save(item);
     }
 
@@ -158,8 +250,8 @@ class ItemServiceTest {
         updateItem.setDescription("Updated description");
         updateItem.setAvailable(false);
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRepository.findByIdAndOwnerId(itemId, userId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(item))
@@ -171,9 +263,10 @@ class ItemServiceTest {
         MatcherAssert.assertThat(item.getName(), equalTo(updateItem.getName()));
         MatcherAssert.assertThat(item.getDescription(), equalTo(updateItem.getDescription()));
         MatcherAssert.assertThat(item.getAvailable(), equalTo(updateItem.getAvailable()));
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findByIdAndOwnerId(itemId, userId);
         verify(itemRepository, times(2)).save(item);
+        verify(itemResponseCache).evict(itemId);
     }
 
     @Test
@@ -187,8 +280,8 @@ class ItemServiceTest {
         updateItem.setDescription("Updated description");
         updateItem.setAvailable(false);
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRepository.findByIdAndOwnerId(itemId, userId))
                 .thenReturn(Optional.empty());
         when(itemRepository.save(item))
@@ -197,7 +290,7 @@ class ItemServiceTest {
         item = itemService.create(userId, item);
 
         assertThrows(NotFoundException.class, () -> itemService.update(userId, itemId, updateItem));
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRepository).findByIdAndOwnerId(itemId, userId);
         verify(itemRepository, times(1)).save(item);
     }
@@ -219,6 +312,7 @@ class ItemServiceTest {
         assertThrows(NotFoundException.class, () -> itemService.update(userId, itemId, updateItem));
         verify(itemRepository).findByIdAndOwnerId(itemId, userId);
         verify(itemRepository, never()).save(item);
+        verify(itemResponseCache, never()).evict(itemId);
     }
 
     @Test
@@ -227,12 +321,15 @@ class ItemServiceTest {
         int from = 0;
         int size = 10;
 
-        when(itemRepository.findAllByNameContainingIgnoreCase(anyString(), any()))
-                .thenReturn(new PageImpl<>(List.of(item)));
+        when(searchEngine.search(anyString(), any()))
+                .thenReturn(List.of(item.getId()));
+        when(itemRepository.findAllById(List.of(item.getId())))
+                .thenReturn(List.of(item));
 
-        itemService.findAllByName(text, from, size);
+        List<Item> actualItems = itemService.findAllByName(text, from, size);
 
-        verify(itemRepository).findAllByNameContainingIgnoreCase(anyString(), any());
+        verify(searchEngine).search(anyString(), any());
+        assertEquals(List.of(item), actualItems);
     }
 
     @Test
@@ -252,6 +349,7 @@ class ItemServiceTest {
         itemService.addComment(userId, itemId, comment);
 
         verify(commentRepository).save(comment);
+        verify(itemResponseCache).evict(itemId);
     }
 
     @Test
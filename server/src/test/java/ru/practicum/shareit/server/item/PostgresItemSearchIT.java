@@ -0,0 +1,154 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.server.common.EmbeddedPostgresConfig;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.PostgresItemSearchEngine;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ObjectGenerator.class, EmbeddedPostgresConfig.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class PostgresItemSearchIT {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ObjectGenerator objectGenerator;
+
+    private final PageRequest pageRequest = PageRequest.of(0, 50);
+
+    private PostgresItemSearchEngine searchEngine;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new PostgresItemSearchEngine(itemRepository);
+        owner = userRepository.save(objectGenerator.next(User.class));
+    }
+
+    private Item save(String name, String description, boolean available) {
+        Item item = objectGenerator.next(Item.class);
+        item.setOwner(owner);
+        item.setRequestId(null);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return itemRepository.saveAndFlush(item);
+    }
+
+    @Test
+    void search_whenTextInNameOrDescriptionInAnyCase_thenAvailableItemsReturned() {
+        Item inName = save("ДРЕЛЬ ударная", "Мощная", true);
+        Item inDescription = save("Инструмент", "Аккумуляторная дрель", true);
+        save("Велосипед", "Горный", true);
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, containsInAnyOrder(inName.getId(), inDescription.getId()));
+    }
+
+    @Test
+    void search_whenTextIsInsideWord_thenItemFoundBySubstring() {
+        Item item = save("Газонокосилка", "Бензиновая", true);
+
+        List<Long> actualIds = searchEngine.search("окоси", pageRequest);
+
+        assertThat(actualIds, contains(item.getId()));
+    }
+
+    @Test
+    void search_whenItemUnavailable_thenItemNotReturned() {
+        save("Дрель", "Сломана", false);
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, empty());
+    }
+
+    @Test
+    void search_whenOnlySubstringMatches_thenWholeWordMatchRankedFirst() {
+        Item substringMatch = save("Набор", "Насадки на дрельку", true);
+        Item wordMatch = save("Дрель", "Дрель для бетона", true);
+
+        List<Long> actualIds = searchEngine.search("дрель", pageRequest);
+
+        assertThat(actualIds, contains(wordMatch.getId(), substringMatch.getId()));
+    }
+
+    @Test
+    void search_whenTextIsWordPrefix_thenPrefixMatchRankedBeforeMatchInsideWord() {
+        Item insideWord = save("Мотодрель", "Бензиновая", true);
+        Item prefix = save("Дрель", "Ударная", true);
+
+        List<Long> actualIds = searchEngine.search("дрел", pageRequest);
+
+        assertThat(actualIds, contains(prefix.getId(), insideWord.getId()));
+    }
+
+    @Test
+    void search_whenTextInDescriptionOnly_thenRankedAfterMatchInName() {
+        Item inDescription = save("Набор", "Сверла для перфоратора", true);
+        Item inName = save("Перфоратор", "Ударный", true);
+
+        List<Long> actualIds = searchEngine.search("перфоратор", pageRequest);
+
+        assertThat(actualIds, contains(inName.getId(), inDescription.getId()));
+    }
+
+    @Test
+    void search_whenTextHasLikeWildcards_thenWildcardsMatchedLiterally() {
+        Item percent = save("Скидка 50%", "На аренду", true);
+        save("Скидка 500 рублей", "На аренду", true);
+        Item underscore = save("Кабель usb_c", "Метр", true);
+        save("Кабель usb-c", "Метр", true);
+
+        assertThat(searchEngine.search("50%", pageRequest), contains(percent.getId()));
+        assertThat(searchEngine.search("usb_c", pageRequest), contains(underscore.getId()));
+    }
+
+    @Test
+    void search_whenTextHasBackslash_thenBackslashMatchedLiterally() {
+        Item backslash = save("Переходник 100\\", "Путь C:\\", true);
+        save("Переходник 100%", "Путь C:", true);
+
+        assertThat(searchEngine.search("100\\", pageRequest), contains(backslash.getId()));
+        assertThat(searchEngine.search("C:\\", pageRequest), contains(backslash.getId()));
+    }
+
+    @Test
+    void search_whenEqualRank_thenItemsOrderedByIdAndPaged() {
+        Item first = save("Дрель", "Первая", true);
+        Item second = save("Дрель", "Вторая", true);
+        Item third = save("Дрель", "Третья", true);
+
+        List<Long> firstPage = searchEngine.search("дрель", PageRequest.of(0, 2));
+        List<Long> secondPage = searchEngine.search("дрель", PageRequest.of(1, 2));
+
+        assertThat(firstPage, contains(first.getId(), second.getId()));
+        assertThat(secondPage, contains(third.getId()));
+    }
+
+    @Test
+    void search_whenTextBlank_thenEmptyListReturned() {
+        save("Дрель", "Мощная", true);
+
+        assertThat(searchEngine.search(" ", pageRequest), empty());
+    }
+}
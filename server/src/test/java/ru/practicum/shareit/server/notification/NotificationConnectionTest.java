@@ -0,0 +1,59 @@
+package ru.practicum.shareit.server.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.notification.model.NotificationType;
+import ru.practicum.shareit.server.notification.service.NotificationConnection;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationConnectionTest {
+
+    private final SseEmitter emitter = mock(SseEmitter.class);
+
+    private final NotificationConnection connection = new NotificationConnection(1L, emitter, 2);
+
+    @Test
+    void offer_whenBufferFull_thenFalseReturned() {
+        assertThat(connection.offer(notification()), equalTo(true));
+        assertThat(connection.offer(notification()), equalTo(true));
+        assertThat(connection.offer(notification()), equalTo(false));
+    }
+
+    @Test
+    void drain_whenEventsBuffered_thenAllSentAndBufferReleased() throws IOException {
+        connection.offer(notification());
+        connection.offer(notification());
+        assertThat(connection.startDraining(), equalTo(true));
+        assertThat(connection.startDraining(), equalTo(false));
+
+        boolean more = connection.drain();
+
+        assertThat(more, equalTo(false));
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(connection.startDraining(), equalTo(true));
+    }
+
+    @Test
+    void drain_whenClientDisconnected_thenIOExceptionThrownAndDrainingReleased() throws IOException {
+        doThrow(IOException.class).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        connection.offer(notification());
+        connection.startDraining();
+
+        assertThrows(IOException.class, connection::drain);
+
+        assertThat(connection.startDraining(), equalTo(true));
+    }
+
+    private static Notification notification() {
+        return new Notification(1L, NotificationType.BOOKING_APPROVED, 1L, 1L, null, Status.APPROVED);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.server.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.notification.controller.NotificationController;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.notification.model.NotificationType;
+import ru.practicum.shareit.server.notification.service.NotificationHub;
+import ru.practicum.shareit.server.user.service.UserCache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({NotificationController.class, NotificationHub.class})
+@Import(SimpleMeterRegistry.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class NotificationControllerIT {
+
+    private static final long SEND_TIMEOUT_MILLIS = 5_000;
+
+    private final MockMvc mockMvc;
+    private final NotificationHub hub;
+
+    @MockBean
+    private UserCache userCache;
+
+    @SneakyThrows
+    @Test
+    void subscribe_whenBookingApproved_thenEventStreamedToBookerOnly() {
+        MvcResult result = mockMvc.perform(get("/notifications")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        hub.publish(new Notification(2L, NotificationType.BOOKING_CREATED, 5L, 1L, null, Status.WAITING));
+        hub.publish(new Notification(1L, NotificationType.BOOKING_APPROVED, 5L, 1L, null, Status.APPROVED));
+
+        String content = awaitContent(result, "\"status\":\"APPROVED\"");
+        assertThat(content, containsString("event:BOOKING_APPROVED"));
+        assertThat(content, containsString("\"bookingId\":5"));
+        assertThat(content, containsString("\"status\":\"APPROVED\""));
+        assertThat(content, not(containsString("BOOKING_CREATED")));
+        assertThat(content, not(containsString("userId")));
+    }
+
+    @SneakyThrows
+    @Test
+    void subscribe_whenUserNotExists_thenNotFoundReturned() {
+        when(userCache.getById(1L))
+                .thenThrow(new NotFoundException("Пользователь с id=1 не найден!"));
+
+        mockMvc.perform(get("/notifications")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    private static String awaitContent(MvcResult result, String expected) {
+        long deadline = System.currentTimeMillis() + SEND_TIMEOUT_MILLIS;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.server.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.notification.model.Notification;
+import ru.practicum.shareit.server.notification.model.NotificationType;
+import ru.practicum.shareit.server.notification.service.NotificationHub;
+import ru.practicum.shareit.server.user.service.UserCache;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationHubTest {
+
+    private final UserCache userCache = mock(UserCache.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final NotificationHub hub = new NotificationHub(userCache, meterRegistry, 1, Duration.ofMinutes(1), 1);
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void subscribe_whenUserExists_thenConnectionCounted() {
+        hub.subscribe(1L);
+        hub.subscribe(1L);
+        hub.subscribe(2L);
+
+        assertThat(connections(), equalTo(3.0));
+    }
+
+    @Test
+    void subscribe_whenUserNotExists_thenNotFoundExceptionThrown() {
+        when(userCache.getById(1L))
+                .thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class, () -> hub.subscribe(1L));
+
+        assertThat(connections(), equalTo(0.0));
+    }
+
+    @Test
+    void publish_whenRecipientNotConnected_thenNothingHappens() {
+        hub.subscribe(1L);
+
+        hub.publish(new Notification(2L, NotificationType.BOOKING_APPROVED, 1L, 1L, null, Status.APPROVED));
+
+        assertThat(connections(), equalTo(1.0));
+        assertThat(meterRegistry.counter(NotificationHub.OVERFLOWS_METRIC).count(), equalTo(0.0));
+    }
+
+    private double connections() {
+        return meterRegistry.get(NotificationHub.CONNECTIONS_METRIC).gauge().value();
+    }
+}
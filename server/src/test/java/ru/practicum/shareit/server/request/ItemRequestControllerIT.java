@@ -11,20 +11,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.request.controller.ItemRequestController;
 import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
 import ru.practicum.shareit.server.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -46,6 +52,7 @@ class ItemRequestControllerIT {
 
     private ItemRequestCreateRequest itemRequestCreateRequest;
     private ItemRequest itemRequest;
+    private ItemRequestResponse itemRequestResponse;
 
     @BeforeEach
     void setUp() {
@@ -63,7 +70,17 @@ class ItemRequestControllerIT {
 
         itemRequest.setId(1L);
         itemRequest.setAuthor(author);
-        itemRequest.setItems(Set.of(item));
+
+        ItemResponse itemResponse = new ItemResponse();
+        itemResponse.setId(item.getId());
+        itemResponse.setName(item.getName());
+        itemResponse.setRequestId(itemRequest.getId());
+
+        itemRequestResponse = new ItemRequestResponse();
+        itemRequestResponse.setId(itemRequest.getId());
+        itemRequestResponse.setDescription(itemRequest.getDescription());
+        itemRequestResponse.setCreated(itemRequest.getCreated());
+        itemRequestResponse.setItems(Set.of(itemResponse));
     }
 
     @SneakyThrows
@@ -113,7 +130,7 @@ class ItemRequestControllerIT {
         long userId = 1L;
 
         when(itemRequestService.findAllByAuthor(userId))
-                .thenReturn(List.of(itemRequest));
+                .thenReturn(List.of(itemRequestResponse));
 
         mockMvc.perform(get("/requests")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -122,7 +139,8 @@ class ItemRequestControllerIT {
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", equalTo(itemRequest.getId()), Long.class))
-                .andExpect(jsonPath("$[0].description", equalTo(itemRequestCreateRequest.getDescription())));
+                .andExpect(jsonPath("$[0].description", equalTo(itemRequestCreateRequest.getDescription())))
+                .andExpect(jsonPath("$[0].items[0].requestId", equalTo(itemRequest.getId()), Long.class));
 
         verify(itemRequestService).findAllByAuthor(userId);
     }
@@ -149,7 +167,7 @@ class ItemRequestControllerIT {
         long userId = 1L;
 
         when(itemRequestService.findAll(anyLong(), anyInt(), anyInt()))
-                .thenReturn(List.of(itemRequest));
+                .thenReturn(List.of(itemRequestResponse));
 
         mockMvc.perform(get("/requests/all")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -179,6 +197,49 @@ class ItemRequestControllerIT {
         verify(itemRequestService, never()).findAll(anyLong(), anyInt(), anyInt());
     }
 
+    @SneakyThrows
+    @Test
+    void getFeed_whenCursorGiven_thenRequestsAndNextCursorReturned() {
+        long userId = 1L;
+        int size = 1;
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0);
+        ItemRequestCursor cursor = new ItemRequestCursor(created, 5L);
+        ItemRequestFeedResponse feedResponse = new ItemRequestFeedResponse();
+        feedResponse.setRequests(List.of(itemRequestResponse));
+        feedResponse.setNextCursor(new ItemRequestCursor(created, itemRequest.getId()).encode());
+
+        when(itemRequestService.findFeed(eq(userId), any(), eq(size)))
+                .thenReturn(feedResponse);
+
+        mockMvc.perform(get("/requests/all/feed")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", cursor.encode())
+                        .param("size", Integer.toString(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests", hasSize(1)))
+                .andExpect(jsonPath("$.requests[0].id", equalTo(itemRequest.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", equalTo(feedResponse.getNextCursor())));
+
+        verify(itemRequestService).findFeed(eq(userId),
+                argThat(actual -> actual.getId() == 5L && actual.getCreated().equals(created)), eq(size));
+    }
+
+    @SneakyThrows
+    @Test
+    void getFeed_whenInvalidCursor_thenBadRequestReturned() {
+        long userId = 1L;
+
+        mockMvc.perform(get("/requests/all/feed")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Некорректный курсор")));
+
+        verify(itemRequestService, never()).findFeed(anyLong(), any(), anyInt());
+    }
+
     @SneakyThrows
     @Test
     void getByRequestId_whenValidRequest_thenItemRequestReturned() {
@@ -186,7 +247,7 @@ class ItemRequestControllerIT {
         long itemRequestId = 1L;
 
         when(itemRequestService.findById(userId, itemRequestId))
-                .thenReturn(itemRequest);
+                .thenReturn(itemRequestResponse);
 
         mockMvc.perform(get("/requests/{requestId}", itemRequestId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.request.controller.ItemRequestController;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
@@ -43,6 +44,7 @@ class ItemRequestControllerTest {
 
     private ItemRequestCreateRequest itemRequestCreateRequest;
     private ItemRequest itemRequest;
+    private ItemRequestResponse itemRequestResponse;
 
     @BeforeEach
     void setUp() {
@@ -60,7 +62,17 @@ class ItemRequestControllerTest {
 
         itemRequest.setId(1L);
         itemRequest.setAuthor(author);
-        itemRequest.setItems(Set.of(item));
+
+        ItemResponse itemResponse = new ItemResponse();
+        itemResponse.setId(item.getId());
+        itemResponse.setName(item.getName());
+        itemResponse.setRequestId(itemRequest.getId());
+
+        itemRequestResponse = new ItemRequestResponse();
+        itemRequestResponse.setId(itemRequest.getId());
+        itemRequestResponse.setDescription(itemRequest.getDescription());
+        itemRequestResponse.setCreated(itemRequest.getCreated());
+        itemRequestResponse.setItems(Set.of(itemResponse));
     }
 
     @Test
@@ -81,7 +93,7 @@ class ItemRequestControllerTest {
         long userId = 1L;
 
         when(itemRequestService.findAllByAuthor(userId))
-                .thenReturn(List.of(itemRequest));
+                .thenReturn(List.of(itemRequestResponse));
 
         List<ItemRequestResponse> response = controller.findAllByAuthor(userId);
 
@@ -97,7 +109,7 @@ class ItemRequestControllerTest {
         int size = 0;
 
         when(itemRequestService.findAll(anyLong(), anyInt(), anyInt()))
-                .thenReturn(List.of(itemRequest));
+                .thenReturn(List.of(itemRequestResponse));
 
         List<ItemRequestResponse> response = controller.findAll(userId, from, size);
 
@@ -112,7 +124,7 @@ class ItemRequestControllerTest {
         long itemRequestId = 1L;
 
         when(itemRequestService.findById(userId, itemRequestId))
-                .thenReturn(itemRequest);
+                .thenReturn(itemRequestResponse);
 
         ItemRequestResponse response = controller.findById(userId, itemRequestId);
 
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.server.request;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.common.exception.BadRequestException;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemRequestCursorTest {
+
+    @Test
+    void decode_whenEncodedCursor_thenSamePositionReturned() {
+        ItemRequestCursor cursor = new ItemRequestCursor(LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123_000_000), 42L);
+
+        ItemRequestCursor decoded = ItemRequestCursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreated(), equalTo(cursor.getCreated()));
+        assertThat(decoded.getId(), equalTo(cursor.getId()));
+    }
+
+    @Test
+    void decode_whenCursorIsBlank_thenFirstReturned() {
+        assertThat(ItemRequestCursor.decode(null), sameInstance(ItemRequestCursor.FIRST));
+        assertThat(ItemRequestCursor.decode(""), sameInstance(ItemRequestCursor.FIRST));
+    }
+
+    @Test
+    void decode_whenCursorIsInvalid_thenBadRequestExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> ItemRequestCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> ItemRequestCursor.decode("YWJj"));
+    }
+}
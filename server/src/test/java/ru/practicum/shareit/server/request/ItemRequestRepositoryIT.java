@@ -6,11 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.server.common.ObjectGenerator;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
@@ -18,6 +21,8 @@ import ru.practicum.shareit.server.user.repository.UserRepository;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.shareit.server.common.Constants.DEFAULT_FROM_NUMBER;
 import static ru.practicum.shareit.server.common.Constants.DEFAULT_SIZE_NUMBER;
@@ -31,6 +36,7 @@ class ItemRequestRepositoryIT {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ObjectGenerator objectGenerator;
+    private final TestEntityManager entityManager;
 
     private User author1;
     private User author2;
@@ -94,10 +100,36 @@ class ItemRequestRepositoryIT {
         itemRequestRepository.save(itemRequest22);
         PageRequest pageRequest = PageRequest.of(DEFAULT_FROM_NUMBER, DEFAULT_SIZE_NUMBER);
 
-        List<ItemRequest> actualItems = itemRequestRepository.findAllByAuthorNotOrderByCreated(author1, pageRequest)
-                .getContent();
+        List<ItemRequest> actualItems = itemRequestRepository.findAllByAuthorNotOrderByCreated(author1, pageRequest);
 
         assertThat(actualItems, Matchers.hasSize(2));
         assertThat(actualItems, Matchers.containsInAnyOrder(itemRequest22, itemRequest21));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findFeed_whenCursorGiven_thenOtherRequestsAfterCursorReturned() {
+        itemRequest11.setAuthor(author1);
+        itemRequest21.setAuthor(author2);
+        itemRequest22.setAuthor(author2);
+        itemRequestRepository.save(itemRequest11);
+        itemRequestRepository.save(itemRequest21);
+        itemRequestRepository.save(itemRequest22);
+        // курсор строится по времени, прочитанному из базы, а не по значению в памяти
+        entityManager.flush();
+        entityManager.clear();
+        PageRequest pageRequest = PageRequest.of(0, 1);
+
+        Slice<ItemRequest> firstPage = itemRequestRepository.findFeed(author1.getId(),
+                ItemRequestCursor.FIRST.getCreated(), ItemRequestCursor.FIRST.getId(), pageRequest);
+
+        assertThat(firstPage.getContent(), contains(itemRequest21));
+        assertThat(firstPage.hasNext(), is(true));
+
+        ItemRequestCursor cursor = ItemRequestCursor.after(firstPage.getContent().get(0));
+        Slice<ItemRequest> secondPage = itemRequestRepository.findFeed(author1.getId(),
+                cursor.getCreated(), cursor.getId(), pageRequest);
+
+        assertThat(secondPage.getContent(), contains(itemRequest22));
+        assertThat(secondPage.hasNext(), is(false));
+    }
+}
@@ -12,26 +12,46 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.StatementCounter;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.model.Comment;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.*;
 
 @SpringBootTest
-@Import(ObjectGenerator.class)
+@Import({ObjectGenerator.class, StatementCounter.class})
 @AutoConfigureTestDatabase
 @Transactional
 @Rollback
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemRequestServiceIT {
 
+    private static final int PAGE_SIZE = 50;
+
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    /**
+     * Запросы страницы, их вещи и комментарии вещей — по одному запросу независимо от размера страницы
+     */
+    private static final long MAX_PAGE_STATEMENTS = 3;
+
     private final ObjectGenerator objectGenerator;
     private final ItemRequestServiceImpl itemRequestService;
     private final UserService userService;
+    private final EntityManager entityManager;
+    private final StatementCounter statementCounter;
 
     private User author1;
     private User author2;
@@ -60,9 +80,9 @@ class ItemRequestServiceIT {
     void getAllMyRequests_whenOneRequestExists_thenListOfOneRequestReturned() {
         long userId = author1.getId();
 
-        List<ItemRequest> foundItemRequests = itemRequestService.findAllByAuthor(userId);
+        List<ItemRequestResponse> foundItemRequests = itemRequestService.findAllByAuthor(userId);
 
-        MatcherAssert.assertThat(foundItemRequests, Matchers.contains(itemRequest1));
+        MatcherAssert.assertThat(foundItemRequests, Matchers.contains(hasProperty("id", equalTo(itemRequest1.getId()))));
     }
 
     @Test
@@ -71,9 +91,61 @@ class ItemRequestServiceIT {
         int from = 0;
         int size = 10;
 
-        List<ItemRequest> foundItemRequests = itemRequestService.findAll(userId, from, size);
+        List<ItemRequestResponse> foundItemRequests = itemRequestService.findAll(userId, from, size);
+
+        MatcherAssert.assertThat(foundItemRequests, Matchers.contains(hasProperty("id", equalTo(itemRequest1.getId()))));
+    }
+
+    @Test
+    void getAllNotUserRequests_whenPageOfRequestsWithItems_thenItemsLoadedInOneQuery() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ItemRequest itemRequest = objectGenerator.next(ItemRequest.class);
+            itemRequest.setAuthor(author1);
+            persist(itemRequest);
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                Item item = objectGenerator.next(Item.class);
+                item.setOwner(author2);
+                item.setRequestId(itemRequest.getId());
+                persistComment(persist(item));
+            }
+        }
+
+        long statements = statementCounter.count(() -> {
+            List<ItemRequestResponse> foundItemRequests = itemRequestService.findAll(author2.getId(), 0, PAGE_SIZE);
+
+            MatcherAssert.assertThat(foundItemRequests, hasSize(PAGE_SIZE));
+            MatcherAssert.assertThat(foundItemRequests.get(PAGE_SIZE - 1).getItems(), hasSize(ITEMS_PER_REQUEST));
+            for (ItemResponse item : foundItemRequests.get(PAGE_SIZE - 1).getItems()) {
+                MatcherAssert.assertThat(item.getComments(), hasSize(1));
+            }
+        });
+
+        MatcherAssert.assertThat(statements, lessThanOrEqualTo(MAX_PAGE_STATEMENTS));
+    }
 
-        MatcherAssert.assertThat(foundItemRequests, Matchers.contains(itemRequest1));
+    @Test
+    void getFeed_whenScrolledToTheEnd_thenEveryOtherRequestReturnedOnceAtConstantCost() {
+        List<Long> expectedIds = new ArrayList<>(List.of(itemRequest1.getId()));
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ItemRequest itemRequest = objectGenerator.next(ItemRequest.class);
+            itemRequest.setAuthor(author1);
+            expectedIds.add(persist(itemRequest).getId());
+        }
+
+        List<Long> actualIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemRequestCursor position = ItemRequestCursor.decode(cursor);
+            List<ItemRequestFeedResponse> page = new ArrayList<>();
+            long statements = statementCounter.count(() ->
+                    page.add(itemRequestService.findFeed(author2.getId(), position, 10)));
+
+            MatcherAssert.assertThat(statements, lessThanOrEqualTo(MAX_PAGE_STATEMENTS));
+            page.get(0).getRequests().forEach(request -> actualIds.add(request.getId()));
+            cursor = page.get(0).getNextCursor();
+        } while (cursor != null);
+
+        MatcherAssert.assertThat(actualIds, equalTo(expectedIds));
     }
 
     @Test
@@ -81,9 +153,21 @@ class ItemRequestServiceIT {
         long userId = author1.getId();
         long requestId = itemRequest2.getId();
 
-        ItemRequest foundItemRequest = itemRequestService.findById(userId, requestId);
+        ItemRequestResponse foundItemRequest = itemRequestService.findById(userId, requestId);
 
-        MatcherAssert.assertThat(foundItemRequest, equalTo(itemRequest2));
+        MatcherAssert.assertThat(foundItemRequest.getId(), equalTo(itemRequest2.getId()));
+        MatcherAssert.assertThat(foundItemRequest.getItems(), empty());
+    }
+
+    private void persistComment(Item commentedItem) {
+        Comment itemComment = objectGenerator.next(Comment.class);
+        itemComment.setItem(commentedItem);
+        itemComment.setAuthor(author1);
+        persist(itemComment);
+    }
 
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
     }
-}
\ No newline at end of file
+}
@@ -3,21 +3,37 @@ package ru.practicum.shareit.server.request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.item.dto.ItemMapper;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.repository.ItemListView;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.service.ItemCommentLoader;
+import ru.practicum.shareit.server.request.dto.ItemRequestFeedResponse;
+import ru.practicum.shareit.server.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestCursor;
 import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +46,19 @@ class ItemRequestServiceTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private ItemCommentLoader itemCommentLoader;
+
+    @Spy
+    private ItemRequestMapper mapper = Mappers.getMapper(ItemRequestMapper.class);
+
+    @Spy
+    private ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -42,18 +70,19 @@ class ItemRequestServiceTest {
     void setUp() {
         user = objectGenerator.next(User.class);
         itemRequest = objectGenerator.next(ItemRequest.class);
+        itemRequest.setId(1L);
     }
 
     @Test
     void create_whenUserExists_thenCreatedItemRequestReturned() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
 
         itemRequestService.create(userId, itemRequest);
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository).save(itemRequest);
     }
 
@@ -61,12 +90,12 @@ class ItemRequestServiceTest {
     void create_whenUserNotExists_thenNotFoundExceptionThrown() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.create(userId, itemRequest));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository, never()).save(itemRequest);
     }
 
@@ -75,14 +104,14 @@ class ItemRequestServiceTest {
     void findAllByAuthor_whenUserExists_thenListOfItemRequestReturned() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRequestRepository.findAllByAuthor(any()))
                 .thenReturn(List.of(itemRequest));
 
         itemRequestService.findAllByAuthor(userId);
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository).findAllByAuthor(any());
     }
 
@@ -90,12 +119,12 @@ class ItemRequestServiceTest {
     void findAllByAuthor_whenUserNotExists_thenNotFoundExceptionThrown() {
         long userId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findAll(userId, 0, 50));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository, never()).findAllByAuthor(any());
     }
 
@@ -105,15 +134,41 @@ class ItemRequestServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRequestRepository.findAllByAuthorNotOrderByCreated(any(), any()))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
+                .thenReturn(List.of(itemRequest));
 
         itemRequestService.findAll(userId, from, size);
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository).findAllByAuthorNotOrderByCreated(any(), any());
+        verify(itemRepository).findViewsByRequestIdIn(Set.of(itemRequest.getId()));
+    }
+
+    @Test
+    void findAll_whenRequestsHaveItems_thenItemsGroupedByRequestWithOneQuery() {
+        long userId = 1L;
+        ItemRequest otherRequest = objectGenerator.next(ItemRequest.class);
+        otherRequest.setId(2L);
+        ItemListView firstItem = new ItemListView(1L, "Item 1", "Description 1", true, itemRequest.getId());
+        ItemListView secondItem = new ItemListView(2L, "Item 2", "Description 2", true, itemRequest.getId());
+
+        when(userCache.getById(userId))
+                .thenReturn(user);
+        when(itemRequestRepository.findAllByAuthorNotOrderByCreated(any(), any()))
+                .thenReturn(List.of(itemRequest, otherRequest));
+        when(itemRepository.findViewsByRequestIdIn(Set.of(itemRequest.getId(), otherRequest.getId())))
+                .thenReturn(List.of(firstItem, secondItem));
+
+        List<ItemRequestResponse> responses = itemRequestService.findAll(userId, 0, 50);
+
+        assertThat(responses, hasSize(2));
+        assertThat(responses.get(0).getItems().stream().map(ItemResponse::getId).collect(Collectors.toList()),
+                contains(firstItem.getId(), secondItem.getId()));
+        assertThat(responses.get(1).getItems(), empty());
+        verify(itemRepository, times(1)).findViewsByRequestIdIn(any());
+        verify(itemCommentLoader).fill(anyCollection());
     }
 
     @Test
@@ -122,28 +177,73 @@ class ItemRequestServiceTest {
         int from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findAll(userId, from, size));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository, never()).findAllByAuthorNotOrderByCreated(any(), any());
     }
 
+    @Test
+    void findFeed_whenMorePagesExist_thenNextCursorReturned() {
+        long userId = 1L;
+        int size = 1;
+        ItemRequestCursor cursor = ItemRequestCursor.FIRST;
+
+        when(userCache.getById(userId))
+                .thenReturn(user);
+        when(itemRequestRepository.findFeed(eq(userId), eq(cursor.getCreated()), eq(cursor.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest), PageRequest.of(0, size), true));
+
+        ItemRequestFeedResponse response = itemRequestService.findFeed(userId, cursor, size);
+
+        assertThat(response.getRequests(), hasSize(1));
+        assertThat(response.getNextCursor(), equalTo(ItemRequestCursor.after(itemRequest).encode()));
+    }
+
+    @Test
+    void findFeed_whenLastPage_thenNextCursorIsNull() {
+        long userId = 1L;
+
+        when(userCache.getById(userId))
+                .thenReturn(user);
+        when(itemRequestRepository.findFeed(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        ItemRequestFeedResponse response = itemRequestService.findFeed(userId, ItemRequestCursor.FIRST, 50);
+
+        assertThat(response.getRequests(), empty());
+        assertThat(response.getNextCursor(), nullValue());
+        verify(itemRepository, never()).findViewsByRequestIdIn(any());
+    }
+
+    @Test
+    void findFeed_whenUserNotExists_thenNotFoundExceptionThrown() {
+        long userId = 1L;
+
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.findFeed(userId, ItemRequestCursor.FIRST, 50));
+
+        verify(itemRequestRepository, never()).findFeed(anyLong(), any(), anyLong(), any());
+    }
+
     @Test
     void findById_whenUserAndItemRequestExist_thenItemRequestReturned() {
         long userId = 1L;
         long requestId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
 
         itemRequestService.findById(userId, requestId);
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository).findById(requestId);
     }
 
@@ -152,12 +252,12 @@ class ItemRequestServiceTest {
         long userId = 0L;
         long requestId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userCache.getById(userId))
+                .thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findById(userId, requestId));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository, never()).findById(requestId);
     }
 
@@ -166,14 +266,14 @@ class ItemRequestServiceTest {
         long userId = 1L;
         long requestId = 1L;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userCache.getById(userId))
+                .thenReturn(user);
         when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findById(userId, requestId));
 
-        verify(userRepository).findById(userId);
+        verify(userCache).getById(userId);
         verify(itemRequestRepository).findById(requestId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.server.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.common.ObjectGenerator;
+import ru.practicum.shareit.server.common.exception.NotFoundException;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserCache userCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        user = new ObjectGenerator().next(User.class);
+        user.setId(1L);
+    }
+
+    @Test
+    void getById_whenCalledTwice_thenRepositoryQueriedOnce() {
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
+        User first = userCache.getById(user.getId());
+        User second = userCache.getById(user.getId());
+
+        assertThat(first.getId(), equalTo(user.getId()));
+        assertThat(first.getName(), equalTo(user.getName()));
+        assertThat(second.getEmail(), equalTo(user.getEmail()));
+        assertThat(first, not(sameInstance(user)));
+        verify(userRepository, times(1)).findById(user.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserCache.NAME).tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserCache.NAME).tag("result", "miss")
+                .functionCounter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void getById_whenUserNotExists_thenEntityNotFoundExceptionThrownAndNotCached() {
+        long userId = 2L;
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userCache.getById(userId));
+        assertThrows(NotFoundException.class, () -> userCache.getById(userId));
+
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void evict_whenUserCached_thenUserLoadedAgain() {
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
+        userCache.getById(user.getId());
+        userCache.evict(user.getId());
+        userCache.getById(user.getId());
+
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    void evict_whenInsideTransaction_thenUserEvictedOnlyAfterCommit() {
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        userCache.getById(user.getId());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userCache.evict(user.getId());
+            userCache.getById(user.getId());
+            verify(userRepository, times(1)).findById(user.getId());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        userCache.getById(user.getId());
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.server.common.exception.NotFoundException;
 import ru.practicum.shareit.server.user.dto.UserMapper;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
+import ru.practicum.shareit.server.user.service.UserCache;
 import ru.practicum.shareit.server.user.service.UserServiceImpl;
 
 import java.util.List;
@@ -33,6 +34,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @Spy
     private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
 
@@ -116,6 +120,7 @@ class UserServiceTest {
         verify(userRepository).findById(userId);
         verify(userMapper, never()).merge(any(), any());
         verify(userRepository, never()).save(any());
+        verify(userCache, never()).evict(anyLong());
     }
 
     @Test
@@ -134,10 +139,11 @@ class UserServiceTest {
         assertThat(user1.getName(), equalTo(updateUser.getName()));
         assertThat(user1.getEmail(), not(equalTo(updateUser.getEmail())));
 
-        InOrder inOrder = inOrder(userRepository, userMapper);
+        InOrder inOrder = inOrder(userRepository, userMapper, userCache);
         inOrder.verify(userRepository).findById(userId);
         inOrder.verify(userMapper).merge(user1, updateUser);
         inOrder.verify(userRepository).save(user1);
+        inOrder.verify(userCache).evict(userId);
     }
 
     @Test
@@ -156,10 +162,11 @@ class UserServiceTest {
         assertThat(user1.getName(), not(equalTo(updateUser.getName())));
         assertThat(user1.getEmail(), equalTo(updateUser.getEmail()));
 
-        InOrder inOrder = inOrder(userRepository, userMapper);
+        InOrder inOrder = inOrder(userRepository, userMapper, userCache);
         inOrder.verify(userRepository).findById(userId);
         inOrder.verify(userMapper).merge(user1, updateUser);
         inOrder.verify(userRepository).save(user1);
+        inOrder.verify(userCache).evict(userId);
     }
 
     @Test
@@ -169,5 +176,6 @@ class UserServiceTest {
         userService.delete(userId);
 
         verify(userRepository).deleteById(userId);
+        verify(userCache).evict(userId);
     }
 }
\ No newline at end of file